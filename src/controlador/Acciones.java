@@ -1,5 +1,7 @@
 package controlador;
 
+import java.io.File;
+import java.io.IOException;
 import javax.swing.JOptionPane;
 import modelo.Arista;
 import modelo.Vertice;
@@ -58,7 +60,6 @@ public class Acciones {
             Vertice ver = new Vertice(element);
             if (grafo.insertarVertice(ver)) {
                 vertices.add(ver);
-                vertices.get(ver).setVisitado(false);
                 JOptionPane.showMessageDialog(null, "Ha ingresado el " + ver.toString(), TITULO, 1);
             } else {
                 JOptionPane.showMessageDialog(null, "El vértice ya existe", "ERROR", 0);
@@ -76,19 +77,17 @@ public class Acciones {
      * es necesario para preguntarle al usuario qué vértices serán el origen y
      * el destino.
      * @see ListaAdyacencia#insertarArista(modelo.Vertice, modelo.Vertice)
+     * @see ListaAdyacencia#buscarVertice(java.lang.String)
      */
     public void crearAristas(int cantidadAristas, String[] opcVertices) {
         for (int i = 0; i < cantidadAristas; i++) {
             String datoOrigen = (String) JOptionPane.showInputDialog(null, "¿Desde qué vértice saldrá la arista " + i + '?', TITULO, 3, null, opcVertices, opcVertices[0]);
             String datoDestino = (String) JOptionPane.showInputDialog(null, "¿A qué vértice llegará la arista " + i + '?', TITULO, 3, null, opcVertices, opcVertices[0]);
-            Vertice origen = null, destino = null;
-            for (int j = 0; j < vertices.size(); j++) {
-                if (vertices.get(j).getDato().equals(datoOrigen)) {
-                    origen = vertices.get(j);
-                }
-                if (vertices.get(j).getDato().equals(datoDestino)) {
-                    destino = vertices.get(j);
-                }
+            Vertice origen = grafo.buscarVertice(datoOrigen);
+            Vertice destino = grafo.buscarVertice(datoDestino);
+            if (origen == null || destino == null) {
+                JOptionPane.showMessageDialog(null, "No se seleccionaron los vértices de la arista", "ERROR", 0);
+                return;
             }
             Arista ar = new Arista(origen, destino);
             if (grafo.insertarArista(origen, destino)) {
@@ -152,15 +151,12 @@ public class Acciones {
      * @see ListaAdyacencia#eliminarVertice(modelo.Vertice)
      */
     public void eliminarVertice(String verticeABorrar) {
-        for (Vertice borrarVertice : vertices) {
-            if (borrarVertice.getDato().equals(verticeABorrar)) {
-                if (grafo.eliminarVertice(borrarVertice)) {
-                    vertices.remove(borrarVertice);
-                    JOptionPane.showMessageDialog(null, "El " + borrarVertice.toString() + " se ha borrado exitosamente", TITULO, 1);
-                } else {
-                    JOptionPane.showMessageDialog(null, "El vértice a borrar no fue encontrado", TITULO, 0);
-                }
-            }
+        Vertice borrarVertice = grafo.buscarVertice(verticeABorrar);
+        if (borrarVertice != null && grafo.eliminarVertice(borrarVertice)) {
+            vertices.remove(borrarVertice);
+            JOptionPane.showMessageDialog(null, "El " + borrarVertice.toString() + " se ha borrado exitosamente", TITULO, 1);
+        } else {
+            JOptionPane.showMessageDialog(null, "El vértice a borrar no fue encontrado", TITULO, 0);
         }
     }
 
@@ -170,29 +166,44 @@ public class Acciones {
      *
      * @param verticeOrigen vértice del que sale la arista
      * @param verticeDestino vértice al que llega la arista
+     * @see ListaAdyacencia#buscarArista(modelo.Vertice, modelo.Vertice)
      * @see ListaAdyacencia#eliminarArista(modelo.Arista)
      */
     public void eliminarArista(String verticeOrigen, String verticeDestino) {
-        String confirmarOrigen, confirmarDestino;
-        boolean encontrado = false;
-        for (Vertice buscarVertice : vertices) {
-            for (Arista aristaEliminar : buscarVertice.getList()) {
-                confirmarOrigen = aristaEliminar.getOrigen().getDato();
-                if (confirmarOrigen.equals(verticeOrigen)) {
-                    encontrado = true;
-                }
-            }
-            for (Arista aristaEliminar : buscarVertice.getList()) {
-                confirmarDestino = aristaEliminar.getDestino().getDato();
-                if (encontrado && confirmarDestino.equals(verticeDestino)) {
-                    if (grafo.eliminarArista(aristaEliminar)) {
-                        aristas.remove(aristaEliminar);
-                        JOptionPane.showMessageDialog(null, "La arista se ha eliminado", TITULO, 1);
-                    } else {
-                        JOptionPane.showMessageDialog(null, "No se pudo eliminar. \nEntre los vértces seleccionados no existen aristas.", TITULO, 2);
-                    }
-                }
-            }
+        Arista aristaEliminar = grafo.buscarArista(grafo.buscarVertice(verticeOrigen), grafo.buscarVertice(verticeDestino));
+        if (aristaEliminar != null && grafo.eliminarArista(aristaEliminar)) {
+            aristas.remove(aristaEliminar);
+            JOptionPane.showMessageDialog(null, "La arista se ha eliminado", TITULO, 1);
+        } else {
+            JOptionPane.showMessageDialog(null, "No se pudo eliminar. \nEntre los vértces seleccionados no existen aristas.", TITULO, 2);
+        }
+    }
+
+    /**
+     * Importa las aristas de un archivo, creando los vértices que no existan.
+     * Con un archivo grande la importación puede tardar, así que no se debe
+     * llamar desde el hilo de eventos de Swing. El avance se informa a
+     * {@code progreso}, que también puede cancelar la importación.
+     *
+     * @param archivo archivo que se va a importar
+     * @param formato formato de las líneas del archivo
+     * @param encabezado verdadero si la primera línea es un encabezado
+     * @param progreso recibe el avance; puede ser null
+     * @return el resumen de la importación
+     * @throws IOException si no se puede leer el archivo
+     * @see ImportadorAristas#importar(java.nio.file.Path)
+     */
+    public ResultadoImportacion importarAristas(File archivo, ImportadorAristas.Formato formato, boolean encabezado,
+            ProgresoImportacion progreso) throws IOException {
+        ImportadorAristas importador = new ImportadorAristas(grafo);
+        importador.setFormato(formato);
+        importador.setEncabezado(encabezado);
+        importador.setProgreso(progreso);
+        try {
+            return importador.importar(archivo.toPath());
+        } finally {
+            vertices = new Lista<>(grafo.getListaVertices());
+            aristas = new Lista<>(grafo.getListaAristas());
         }
     }
 
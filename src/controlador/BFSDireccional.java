@@ -0,0 +1,168 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Recorrido en amplitud que optimiza la dirección de cada nivel (Beamer,
+ * Asanović y Patterson). En los niveles con una frontera pequeña se expande
+ * de arriba hacia abajo: cada vértice de la frontera revisa sus vecinos. En
+ * los niveles intermedios, cuando la frontera abarca buena parte del grafo,
+ * se busca de abajo hacia arriba: cada vértice aún no alcanzado revisa sus
+ * vecinos hasta encontrar uno en la frontera y se detiene en el primero. En
+ * grafos de diámetro pequeño esto evita la mayoría de los arcos que el
+ * recorrido clásico revisaría sin descubrir nada.
+ *
+ * El cambio de dirección se decide con dos heurísticas: se pasa a buscar de
+ * abajo hacia arriba cuando los arcos que salen de la frontera superan
+ * {@code 1/alfa} de los arcos de los vértices no alcanzados, y se vuelve a
+ * expandir de arriba hacia abajo cuando la frontera tiene menos de
+ * {@code 1/beta} de los vértices.
+ *
+ * La búsqueda hacia arriba lee las filas de entrada de la instantánea, que en
+ * un grafo no dirigido son las mismas de salida. Los niveles coinciden con los
+ * del recorrido secuencial; los padres forman un árbol BFS válido, aunque en
+ * los niveles hechos de abajo hacia arriba pueden ser otros vecinos del nivel
+ * anterior.
+ *
+ * @author Michael González
+ * @see Recorrido#arbolBfs(int)
+ */
+public final class BFSDireccional {
+
+    /**
+     * Valor de alfa sugerido en el artículo original.
+     */
+    public static final int ALFA = 15;
+    /**
+     * Valor de beta sugerido en el artículo original.
+     */
+    public static final int BETA = 18;
+
+    private final GrafoCSR grafo;
+    private final int alfa;
+    private final int beta;
+
+    /**
+     * Constructor que usa los parámetros sugeridos para decidir la dirección.
+     *
+     * @param grafo instantánea que se va a recorrer
+     */
+    public BFSDireccional(GrafoCSR grafo) {
+        this(grafo, ALFA, BETA);
+    }
+
+    /**
+     * Constructor que permite ajustar los parámetros de la heurística.
+     *
+     * @param grafo instantánea que se va a recorrer
+     * @param alfa mientras mayor, antes se pasa a buscar de abajo hacia arriba
+     * @param beta mientras mayor, más tarde se vuelve a expandir de arriba
+     * hacia abajo
+     */
+    public BFSDireccional(GrafoCSR grafo, int alfa, int beta) {
+        if (alfa <= 0 || beta <= 0) {
+            throw new IllegalArgumentException("Alfa y beta deben ser positivos");
+        }
+        this.grafo = grafo;
+        this.alfa = alfa;
+        this.beta = beta;
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado.
+     *
+     * @param origen identificador del vértice inicial
+     * @return Los niveles y los padres de cada vértice.
+     */
+    public ResultadoBFS bfs(int origen) {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int[] desplazamientosEntrada = grafo.desplazamientosEntrada;
+        int[] origenes = grafo.origenes;
+        int[] niveles = new int[n];
+        int[] padres = new int[n];
+        Arrays.fill(niveles, -1);
+        Arrays.fill(padres, -1);
+        niveles[origen] = 0;
+
+        //Frontera como arreglo para expandir de arriba hacia abajo
+        int[] frontera = new int[n];
+        int[] siguiente = new int[n];
+        int tamanioFrontera = 0;
+        frontera[tamanioFrontera++] = origen;
+        //Frontera como mapa de bits para buscar de abajo hacia arriba
+        BitSet enFrontera = new BitSet(n);
+        BitSet enSiguiente = new BitSet(n);
+
+        long arcosFrontera = grafo.grado(origen);
+        long arcosSinExplorar = grafo.cantidadArcos() - arcosFrontera;
+        long examinados = 0;
+        boolean abajoArriba = false;
+        int nivel = 0;
+        while (tamanioFrontera > 0) {
+            if (!abajoArriba && arcosFrontera > arcosSinExplorar / alfa) {
+                enFrontera.clear();
+                for (int i = 0; i < tamanioFrontera; i++) {
+                    enFrontera.set(frontera[i]);
+                }
+                abajoArriba = true;
+            } else if (abajoArriba && tamanioFrontera < n / beta) {
+                tamanioFrontera = 0;
+                for (int v = enFrontera.nextSetBit(0); v >= 0; v = enFrontera.nextSetBit(v + 1)) {
+                    frontera[tamanioFrontera++] = v;
+                }
+                abajoArriba = false;
+            }
+
+            int tamanioSiguiente = 0;
+            arcosFrontera = 0;
+            if (abajoArriba) {
+                enSiguiente.clear();
+                for (int v = 0; v < n; v++) {
+                    if (niveles[v] != -1) {
+                        continue;
+                    }
+                    for (int arco = desplazamientosEntrada[v]; arco < desplazamientosEntrada[v + 1]; arco++) {
+                        examinados++;
+                        int u = origenes[arco];
+                        if (enFrontera.get(u)) {
+                            padres[v] = u;
+                            niveles[v] = nivel + 1;
+                            enSiguiente.set(v);
+                            tamanioSiguiente++;
+                            arcosFrontera += desplazamientos[v + 1] - desplazamientos[v];
+                            break;
+                        }
+                    }
+                }
+                BitSet aux = enFrontera;
+                enFrontera = enSiguiente;
+                enSiguiente = aux;
+            } else {
+                for (int i = 0; i < tamanioFrontera; i++) {
+                    int u = frontera[i];
+                    for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                        examinados++;
+                        int v = destinos[arco];
+                        if (niveles[v] == -1) {
+                            niveles[v] = nivel + 1;
+                            padres[v] = u;
+                            siguiente[tamanioSiguiente++] = v;
+                            arcosFrontera += desplazamientos[v + 1] - desplazamientos[v];
+                        }
+                    }
+                }
+                int[] aux = frontera;
+                frontera = siguiente;
+                siguiente = aux;
+            }
+            tamanioFrontera = tamanioSiguiente;
+            arcosSinExplorar -= arcosFrontera;
+            nivel++;
+        }
+        return new ResultadoBFS(niveles, padres, examinados);
+    }
+
+}
@@ -0,0 +1,131 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Recorrido en amplitud desde muchos orígenes a la vez (MS-BFS, Then et al.)
+ * sobre una instantánea {@link GrafoCSR}. Los orígenes se agrupan en lotes de
+ * hasta 64 y cada vértice guarda, en un {@code long}, un bit por cada origen
+ * del lote: los que ya lo alcanzaron y los que lo tienen en su frontera. Así,
+ * una sola lectura de la adyacencia de un vértice avanza a la vez los 64
+ * recorridos, en lugar de repetirla una vez por origen.
+ *
+ * Los lotes son independientes entre sí; cuando hay más de uno se reparten
+ * entre los hilos de un {@link ForkJoinPool}.
+ *
+ * @author Michael González
+ */
+public final class BFSMultiple {
+
+    /**
+     * Cantidad de orígenes que caben en un lote: uno por bit de un
+     * {@code long}.
+     */
+    public static final int ORIGENES_POR_LOTE = Long.SIZE;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea que se va a recorrer
+     */
+    public BFSMultiple(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado para repartir los lotes.
+     *
+     * @param grafo instantánea que se va a recorrer
+     * @param pool hilos entre los que se reparten los lotes
+     */
+    public BFSMultiple(GrafoCSR grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula la distancia, en aristas, desde cada origen hasta cada vértice.
+     *
+     * @param origenes identificadores de los vértices de origen
+     * @return Una fila por origen, en el mismo orden; cada fila tiene la
+     * distancia a cada vértice, o -1 si no es alcanzable.
+     */
+    public int[][] distancias(int[] origenes) {
+        int n = grafo.cantidadVertices();
+        int[][] distancias = new int[origenes.length][n];
+        int lotes = (origenes.length + ORIGENES_POR_LOTE - 1) / ORIGENES_POR_LOTE;
+        if (lotes == 1) {
+            lote(origenes, 0, distancias);
+            return distancias;
+        }
+        ForkJoinTask<?>[] tareas = new ForkJoinTask<?>[lotes];
+        for (int i = 0; i < lotes; i++) {
+            int desde = i * ORIGENES_POR_LOTE;
+            tareas[i] = pool.submit(() -> lote(origenes, desde, distancias));
+        }
+        for (ForkJoinTask<?> tarea : tareas) {
+            tarea.join();
+        }
+        return distancias;
+    }
+
+    /**
+     * Recorre el lote de hasta 64 orígenes que comienza en la posición
+     * indicada y llena sus filas de distancias.
+     *
+     * @param origenes todos los orígenes solicitados
+     * @param desde posición del primer origen del lote
+     * @param distancias filas de resultados, una por origen
+     */
+    private void lote(int[] origenes, int desde, int[][] distancias) {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int tamanio = Math.min(ORIGENES_POR_LOTE, origenes.length - desde);
+        long[] vistos = new long[n];
+        long[] frontera = new long[n];
+        long[] siguiente = new long[n];
+        for (int i = 0; i < tamanio; i++) {
+            int[] fila = distancias[desde + i];
+            Arrays.fill(fila, -1);
+            int origen = origenes[desde + i];
+            fila[origen] = 0;
+            vistos[origen] |= 1L << i;
+            frontera[origen] |= 1L << i;
+        }
+        boolean activo = true;
+        for (int nivel = 1; activo; nivel++) {
+            //Cada vértice de alguna frontera empuja sus bits a sus vecinos
+            for (int v = 0; v < n; v++) {
+                long bits = frontera[v];
+                if (bits != 0) {
+                    for (int arco = desplazamientos[v]; arco < desplazamientos[v + 1]; arco++) {
+                        siguiente[destinos[arco]] |= bits;
+                    }
+                }
+            }
+            //Solo cuentan los bits de los recorridos que aún no habían llegado
+            activo = false;
+            for (int v = 0; v < n; v++) {
+                long nuevos = siguiente[v] & ~vistos[v];
+                siguiente[v] = 0;
+                frontera[v] = nuevos;
+                if (nuevos != 0) {
+                    activo = true;
+                    vistos[v] |= nuevos;
+                    while (nuevos != 0) {
+                        int i = Long.numberOfTrailingZeros(nuevos);
+                        distancias[desde + i][v] = nivel;
+                        nuevos &= nuevos - 1;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Recorrido en amplitud paralelo y sincronizado por niveles sobre una
+ * instantánea {@link GrafoCSR}. La frontera de cada nivel se reparte en
+ * trozos entre los hilos de un {@link ForkJoinPool} y cada nivel se hace en
+ * dos fases:
+ *
+ * <li>Descubrimiento: cada vértice de la frontera reclama a sus vecinos no
+ * alcanzados con una operación CAS sobre su nivel y anota, con un mínimo
+ * atómico, la posición en la frontera del primer vértice que lo alcanza.
+ *
+ * <li>Asignación: cada trozo vuelve a recorrer sus arcos y se queda con los
+ * vecinos cuya posición mínima es la suya. Cada trozo los acumula en su
+ * propia frontera local, y las fronteras locales se concatenan en el orden de
+ * los trozos.
+ *
+ * Como el padre de cada vértice es el primero de la frontera que lo alcanza y
+ * la frontera siguiente queda en el mismo orden de la cola del recorrido
+ * secuencial, los niveles y los padres son idénticos a los de
+ * {@link Recorrido#arbolBfs(int)}, sin importar cuántos hilos se usen.
+ *
+ * @author Michael González
+ */
+public final class BFSParalelo {
+
+    /**
+     * Cantidad mínima de vértices de la frontera que se le asigna a cada
+     * trozo. Por debajo de este tamaño no compensa repartir el trabajo.
+     */
+    private static final int TROZO_MINIMO = 256;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea que se va a recorrer
+     */
+    public BFSParalelo(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea que se va a recorrer
+     * @param pool hilos entre los que se reparte cada nivel
+     */
+    public BFSParalelo(GrafoCSR grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado.
+     *
+     * @param origen identificador del vértice inicial
+     * @return Los niveles y los padres de cada vértice.
+     */
+    public ResultadoBFS bfs(int origen) {
+        return new Ejecucion(origen).ejecutar();
+    }
+
+    /**
+     * Rango de la frontera que procesa un mismo hilo, junto con la frontera
+     * local de los vértices que descubre.
+     */
+    private static final class Trozo {
+
+        final int desde;
+        final int hasta;
+        int[] descubiertos;
+        int tamanio;
+        long arcos;
+
+        Trozo(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.descubiertos = new int[Math.max(hasta - desde, 4)];
+        }
+
+        void agregar(int v) {
+            if (tamanio == descubiertos.length) {
+                descubiertos = Arrays.copyOf(descubiertos, tamanio << 1);
+            }
+            descubiertos[tamanio++] = v;
+        }
+
+    }
+
+    /**
+     * Estado de un recorrido. Cada llamada a {@link #bfs(int)} crea el suyo,
+     * así que varios recorridos pueden compartir la misma instancia.
+     */
+    private final class Ejecucion {
+
+        private final AtomicIntegerArray niveles;
+        private final AtomicIntegerArray primeraPosicion;
+        private final int[] padres;
+        private int[] frontera;
+        private int nivel;
+
+        Ejecucion(int origen) {
+            int n = grafo.cantidadVertices();
+            this.niveles = new AtomicIntegerArray(n);
+            this.primeraPosicion = new AtomicIntegerArray(n);
+            this.padres = new int[n];
+            for (int v = 0; v < n; v++) {
+                niveles.lazySet(v, -1);
+                primeraPosicion.lazySet(v, Integer.MAX_VALUE);
+            }
+            Arrays.fill(padres, -1);
+            niveles.set(origen, 0);
+            this.frontera = new int[]{origen};
+            this.nivel = 0;
+        }
+
+        /**
+         * Procesa los niveles hasta que la frontera quede vacía.
+         *
+         * @return Los niveles y los padres de cada vértice.
+         */
+        ResultadoBFS ejecutar() {
+            long examinados = 0;
+            while (frontera.length > 0) {
+                int cantidadTrozos = Math.max(1, Math.min(pool.getParallelism() * 4, frontera.length / TROZO_MINIMO));
+                Trozo[] trozos = new Trozo[cantidadTrozos];
+                for (int t = 0; t < cantidadTrozos; t++) {
+                    int desde = (int) ((long) frontera.length * t / cantidadTrozos);
+                    int hasta = (int) ((long) frontera.length * (t + 1) / cantidadTrozos);
+                    trozos[t] = new Trozo(desde, hasta);
+                }
+                fase(trozos, false);
+                fase(trozos, true);
+                //Concateno las fronteras locales en el orden de los trozos
+                int tamanioSiguiente = 0;
+                for (Trozo trozo : trozos) {
+                    tamanioSiguiente += trozo.tamanio;
+                    examinados += trozo.arcos;
+                }
+                int[] siguiente = new int[tamanioSiguiente];
+                int posicion = 0;
+                for (Trozo trozo : trozos) {
+                    System.arraycopy(trozo.descubiertos, 0, siguiente, posicion, trozo.tamanio);
+                    posicion += trozo.tamanio;
+                }
+                frontera = siguiente;
+                nivel++;
+            }
+            int n = grafo.cantidadVertices();
+            int[] resultado = new int[n];
+            for (int v = 0; v < n; v++) {
+                resultado[v] = niveles.get(v);
+            }
+            return new ResultadoBFS(resultado, padres, examinados);
+        }
+
+        /**
+         * Ejecuta una fase del nivel actual sobre todos los trozos. Si hay un
+         * solo trozo, se hace en el hilo actual.
+         *
+         * @param trozos rangos en los que se dividió la frontera
+         * @param asignar falso para descubrir; verdadero para asignar
+         */
+        private void fase(Trozo[] trozos, boolean asignar) {
+            if (trozos.length == 1) {
+                procesar(trozos[0], asignar);
+            } else {
+                pool.invoke(new Fase(trozos, 0, trozos.length, asignar));
+            }
+        }
+
+        private void procesar(Trozo trozo, boolean asignar) {
+            if (asignar) {
+                asignar(trozo);
+            } else {
+                descubrir(trozo);
+            }
+        }
+
+        /**
+         * Reclama los vecinos no alcanzados de los vértices del trozo y anota
+         * la primera posición de la frontera desde la que se alcanza cada uno.
+         *
+         * @param trozo rango de la frontera que se procesa
+         */
+        private void descubrir(Trozo trozo) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            int siguienteNivel = nivel + 1;
+            for (int p = trozo.desde; p < trozo.hasta; p++) {
+                int u = frontera[p];
+                trozo.arcos += desplazamientos[u + 1] - desplazamientos[u];
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int w = destinos[arco];
+                    int nivelW = niveles.get(w);
+                    if (nivelW == -1) {
+                        niveles.compareAndSet(w, -1, siguienteNivel);
+                        nivelW = niveles.get(w);
+                    }
+                    if (nivelW == siguienteNivel) {
+                        int actual = primeraPosicion.get(w);
+                        while (p < actual && !primeraPosicion.compareAndSet(w, actual, p)) {
+                            actual = primeraPosicion.get(w);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Toma los vecinos que el trozo alcanzó primero, les asigna su padre y
+         * los agrega a la frontera local en el orden de la adyacencia.
+         *
+         * @param trozo rango de la frontera que se procesa
+         */
+        private void asignar(Trozo trozo) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            int siguienteNivel = nivel + 1;
+            for (int p = trozo.desde; p < trozo.hasta; p++) {
+                int u = frontera[p];
+                trozo.arcos += desplazamientos[u + 1] - desplazamientos[u];
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int w = destinos[arco];
+                    if (niveles.get(w) == siguienteNivel && primeraPosicion.get(w) == p) {
+                        padres[w] = u;
+                        trozo.agregar(w);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tarea que reparte una fase entre los trozos, dividiendo el rango a
+         * la mitad hasta llegar a un solo trozo.
+         */
+        private final class Fase extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+            private final Trozo[] trozos;
+            private final int desde;
+            private final int hasta;
+            private final boolean asignar;
+
+            Fase(Trozo[] trozos, int desde, int hasta, boolean asignar) {
+                this.trozos = trozos;
+                this.desde = desde;
+                this.hasta = hasta;
+                this.asignar = asignar;
+            }
+
+            @Override
+            protected void compute() {
+                if (hasta - desde == 1) {
+                    procesar(trozos[desde], asignar);
+                } else {
+                    int medio = (desde + hasta) >>> 1;
+                    invokeAll(new Fase(trozos, desde, medio, asignar), new Fase(trozos, medio, hasta, asignar));
+                }
+            }
+
+        }
+
+    }
+
+}
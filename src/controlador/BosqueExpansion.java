@@ -0,0 +1,45 @@
+package controlador;
+
+import modelo.Arista;
+
+/**
+ * Resultado de un cálculo de bosque de expansión mínima: las aristas elegidas
+ * y la suma de sus pesos. Si el grafo es conexo, el bosque es un solo árbol.
+ *
+ * @author Michael González
+ * @see ExpansionMinima
+ */
+public final class BosqueExpansion {
+
+    private final long peso;
+    private final Lista<Arista> aristas;
+    private final int arboles;
+
+    /**
+     * Constructor que recibe los datos calculados.
+     *
+     * @param peso suma de los pesos de las aristas elegidas
+     * @param aristas aristas del bosque
+     * @param arboles cantidad de árboles del bosque
+     */
+    BosqueExpansion(long peso, Lista<Arista> aristas, int arboles) {
+        this.peso = peso;
+        this.aristas = aristas;
+        this.arboles = arboles;
+    }
+
+    //Getters
+    public long getPeso() {
+        return peso;
+    }
+
+    public Lista<Arista> getAristas() {
+        return new Lista<>(aristas);
+    }
+
+    public int getArboles() {
+        return arboles;
+    }
+    //End Getters
+
+}
@@ -0,0 +1,275 @@
+package controlador;
+
+import java.util.Arrays;
+import modelo.Vertice;
+
+/**
+ * Búsquedas del camino mínimo entre un par de vértices sobre una instantánea
+ * {@link GrafoCSR}. A diferencia de {@link Dijkstra#desde(int)}, no resuelven
+ * todo el grafo: la búsqueda bidireccional avanza a la vez desde el origen y
+ * desde el destino y se detiene cuando las dos fronteras se encuentran, y A*
+ * usa una {@link Heuristica} para explorar primero hacia el destino. En grafos
+ * grandes y dispersos eso reduce mucho los vértices explorados, que se
+ * informan en cada {@link CaminoPuntoAPunto}.
+ *
+ * La búsqueda desde el destino avanza en sentido contrario a las aristas, por
+ * las filas de entrada de la instantánea; en un grafo no dirigido son las
+ * mismas filas que usa la búsqueda desde el origen.
+ *
+ * @author Michael González
+ */
+public final class BusquedaPuntoAPunto {
+
+    private final GrafoCSR grafo;
+
+    /**
+     * Constructor que recibe la instantánea sobre la que se buscan los
+     * caminos.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public BusquedaPuntoAPunto(GrafoCSR grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Busca el camino de menor peso con Dijkstra bidireccional. En cada paso
+     * avanza el lado con el montículo más pequeño, y se detiene cuando la
+     * suma de las menores claves de los dos montículos ya no puede mejorar el
+     * mejor camino encontrado.
+     *
+     * @param origen identificador del vértice de origen
+     * @param destino identificador del vértice de destino
+     * @return El camino de menor peso y los vértices explorados.
+     * @throws IllegalArgumentException si se encuentra un peso negativo
+     */
+    public CaminoPuntoAPunto dijkstraBidireccional(int origen, int destino) {
+        if (origen == destino) {
+            return new CaminoPuntoAPunto(grafo, 0, new int[]{origen}, 0);
+        }
+        int n = grafo.cantidadVertices();
+        int[][] desplazamientos = {grafo.desplazamientos, grafo.desplazamientosEntrada};
+        int[][] vecinos = {grafo.destinos, grafo.origenes};
+        int[][] pesos = {grafo.pesos, grafo.pesosEntrada};
+        long[][] distancias = new long[2][n];
+        int[][] predecesores = new int[2][n];
+        MonticuloIndexado[] monticulos = {new MonticuloIndexado(n), new MonticuloIndexado(n)};
+        for (int lado = 0; lado < 2; lado++) {
+            Arrays.fill(distancias[lado], CaminosMinimos.INFINITO);
+            Arrays.fill(predecesores[lado], -1);
+        }
+        distancias[0][origen] = 0;
+        distancias[1][destino] = 0;
+        monticulos[0].insertarODisminuir(origen, 0);
+        monticulos[1].insertarODisminuir(destino, 0);
+        long mejor = CaminosMinimos.INFINITO;
+        int encuentro = -1;
+        int explorados = 0;
+        while (!monticulos[0].isEmpty() && !monticulos[1].isEmpty()) {
+            long minimo = monticulos[0].clave(monticulos[0].peek()) + monticulos[1].clave(monticulos[1].peek());
+            if (minimo >= mejor) {
+                break;
+            }
+            int lado = monticulos[0].size() <= monticulos[1].size() ? 0 : 1;
+            long[] propias = distancias[lado];
+            long[] ajenas = distancias[1 - lado];
+            int u = monticulos[lado].pop();
+            explorados++;
+            for (int arco = desplazamientos[lado][u]; arco < desplazamientos[lado][u + 1]; arco++) {
+                int peso = pesos[lado][arco];
+                if (peso < 0) {
+                    throw new IllegalArgumentException("Dijkstra no admite pesos negativos: " + peso);
+                }
+                int v = vecinos[lado][arco];
+                long nueva = propias[u] + peso;
+                if (nueva < propias[v]) {
+                    propias[v] = nueva;
+                    predecesores[lado][v] = u;
+                    monticulos[lado].insertarODisminuir(v, nueva);
+                }
+                //El vértice ya fue alcanzado desde el otro lado: hay un camino
+                if (ajenas[v] != CaminosMinimos.INFINITO && propias[v] + ajenas[v] < mejor) {
+                    mejor = propias[v] + ajenas[v];
+                    encuentro = v;
+                }
+            }
+        }
+        if (encuentro < 0) {
+            return new CaminoPuntoAPunto(grafo, CaminosMinimos.INFINITO, new int[0], explorados);
+        }
+        return new CaminoPuntoAPunto(grafo, mejor, unir(predecesores, encuentro, encuentro), explorados);
+    }
+
+    /**
+     * Busca el camino con menos aristas con un recorrido en amplitud
+     * bidireccional. En cada paso expande un nivel completo del lado con la
+     * frontera más pequeña, y se detiene al terminar el primer nivel en el que
+     * las fronteras se tocan.
+     *
+     * @param origen identificador del vértice de origen
+     * @param destino identificador del vértice de destino
+     * @return El camino con menos aristas, cuya distancia es la cantidad de
+     * aristas, y los vértices explorados.
+     */
+    public CaminoPuntoAPunto bfsBidireccional(int origen, int destino) {
+        if (origen == destino) {
+            return new CaminoPuntoAPunto(grafo, 0, new int[]{origen}, 0);
+        }
+        int n = grafo.cantidadVertices();
+        int[][] desplazamientos = {grafo.desplazamientos, grafo.desplazamientosEntrada};
+        int[][] vecinos = {grafo.destinos, grafo.origenes};
+        int[][] niveles = new int[2][n];
+        int[][] predecesores = new int[2][n];
+        ColaEnteros[] colas = {new ColaEnteros(), new ColaEnteros()};
+        for (int lado = 0; lado < 2; lado++) {
+            Arrays.fill(niveles[lado], -1);
+            Arrays.fill(predecesores[lado], -1);
+        }
+        niveles[0][origen] = 0;
+        niveles[1][destino] = 0;
+        colas[0].queue(origen);
+        colas[1].queue(destino);
+        long mejor = CaminosMinimos.INFINITO;
+        int extremoOrigen = -1;
+        int extremoDestino = -1;
+        int explorados = 0;
+        while (mejor == CaminosMinimos.INFINITO && !colas[0].isEmpty() && !colas[1].isEmpty()) {
+            int lado = colas[0].size() <= colas[1].size() ? 0 : 1;
+            int[] propios = niveles[lado];
+            int[] ajenos = niveles[1 - lado];
+            ColaEnteros cola = colas[lado];
+            for (int cantidad = cola.size(); cantidad > 0; cantidad--) {
+                int u = cola.pop();
+                explorados++;
+                for (int arco = desplazamientos[lado][u]; arco < desplazamientos[lado][u + 1]; arco++) {
+                    int v = vecinos[lado][arco];
+                    if (propios[v] < 0) {
+                        propios[v] = propios[u] + 1;
+                        predecesores[lado][v] = u;
+                        cola.queue(v);
+                    }
+                    if (ajenos[v] >= 0 && propios[u] + 1 + ajenos[v] < mejor) {
+                        mejor = propios[u] + 1 + ajenos[v];
+                        extremoOrigen = lado == 0 ? u : v;
+                        extremoDestino = lado == 0 ? v : u;
+                    }
+                }
+            }
+        }
+        if (mejor == CaminosMinimos.INFINITO) {
+            return new CaminoPuntoAPunto(grafo, CaminosMinimos.INFINITO, new int[0], explorados);
+        }
+        return new CaminoPuntoAPunto(grafo, mejor, unir(predecesores, extremoOrigen, extremoDestino), explorados);
+    }
+
+    /**
+     * Busca el camino de menor peso con A*. Los vértices salen del montículo
+     * según su distancia desde el origen más la estimación de la heurística,
+     * y la búsqueda termina cuando sale el destino. Si la heurística no
+     * cumple la desigualdad triangular, un vértice que mejora después de
+     * explorado vuelve al montículo, así que el camino sigue siendo mínimo
+     * mientras la heurística no sobreestime.
+     *
+     * @param origen identificador del vértice de origen
+     * @param destino identificador del vértice de destino
+     * @param heuristica estimación de la distancia que falta hasta el destino
+     * @return El camino de menor peso y los vértices explorados.
+     * @throws IllegalArgumentException si se encuentra un peso negativo o la
+     * heurística devuelve una estimación negativa
+     */
+    public CaminoPuntoAPunto aEstrella(int origen, int destino, Heuristica heuristica) {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int[] pesos = grafo.pesos;
+        long[] distancias = new long[n];
+        int[] predecesores = new int[n];
+        //La estimación de cada vértice se calcula una sola vez; -1 es pendiente
+        long[] estimaciones = new long[n];
+        Arrays.fill(distancias, CaminosMinimos.INFINITO);
+        Arrays.fill(predecesores, -1);
+        Arrays.fill(estimaciones, -1);
+        Vertice verticeDestino = grafo.getVertice(destino);
+        MonticuloIndexado monticulo = new MonticuloIndexado(n);
+        distancias[origen] = 0;
+        monticulo.insertarODisminuir(origen, estimar(heuristica, estimaciones, origen, verticeDestino));
+        int explorados = 0;
+        while (!monticulo.isEmpty()) {
+            int u = monticulo.pop();
+            explorados++;
+            if (u == destino) {
+                break;
+            }
+            long distanciaU = distancias[u];
+            for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                int peso = pesos[arco];
+                if (peso < 0) {
+                    throw new IllegalArgumentException("A* no admite pesos negativos: " + peso);
+                }
+                int v = destinos[arco];
+                long nueva = distanciaU + peso;
+                if (nueva < distancias[v]) {
+                    distancias[v] = nueva;
+                    predecesores[v] = u;
+                    monticulo.insertarODisminuir(v, nueva + estimar(heuristica, estimaciones, v, verticeDestino));
+                }
+            }
+        }
+        CaminosMinimos caminos = new CaminosMinimos(origen, distancias, predecesores);
+        return new CaminoPuntoAPunto(grafo, caminos.distancia(destino), caminos.camino(destino), explorados);
+    }
+
+    /**
+     * Devuelve la estimación de un vértice, calculándola la primera vez que
+     * se pide.
+     *
+     * @param heuristica heurística de la búsqueda
+     * @param estimaciones estimaciones ya calculadas; -1 las pendientes
+     * @param v identificador del vértice
+     * @param destino vértice de destino
+     * @return la estimación de la distancia que falta desde el vértice
+     */
+    private long estimar(Heuristica heuristica, long[] estimaciones, int v, Vertice destino) {
+        if (estimaciones[v] < 0) {
+            long estimacion = heuristica.estimar(grafo.getVertice(v), destino);
+            if (estimacion < 0) {
+                throw new IllegalArgumentException("La heurística devolvió una estimación negativa: " + estimacion);
+            }
+            estimaciones[v] = estimacion;
+        }
+        return estimaciones[v];
+    }
+
+    /**
+     * Une los dos tramos de un camino bidireccional: el que va del origen a
+     * un extremo siguiendo los predecesores del lado del origen, y el que va
+     * del otro extremo al destino siguiendo los del lado del destino.
+     *
+     * @param predecesores predecesores de cada lado
+     * @param extremoOrigen último vértice del tramo del origen
+     * @param extremoDestino primer vértice del tramo del destino; puede ser
+     * el mismo extremo del origen
+     * @return los identificadores del camino completo
+     */
+    private static int[] unir(int[][] predecesores, int extremoOrigen, int extremoDestino) {
+        PilaEnteros tramoOrigen = new PilaEnteros();
+        for (int v = extremoOrigen; v >= 0; v = predecesores[0][v]) {
+            tramoOrigen.push(v);
+        }
+        int largo = tramoOrigen.size();
+        int inicioDestino = extremoDestino == extremoOrigen ? predecesores[1][extremoDestino] : extremoDestino;
+        for (int v = inicioDestino; v >= 0; v = predecesores[1][v]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        int i = 0;
+        while (!tramoOrigen.isEmpty()) {
+            camino[i++] = tramoOrigen.pop();
+        }
+        for (int v = inicioDestino; v >= 0; v = predecesores[1][v]) {
+            camino[i++] = v;
+        }
+        return camino;
+    }
+
+}
@@ -0,0 +1,245 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caché acotada de resultados de consultas sobre un grafo. Cada resultado se
+ * guarda con la consulta, sus parámetros y la época del grafo en la que se
+ * calculó, así que una modificación del grafo, que aumenta la época, hace que
+ * las consultas siguientes no encuentren los resultados anteriores. En
+ * cuanto aparece una época nueva se descartan todos los resultados de las
+ * anteriores, porque ya no pueden volver a pedirse.
+ *
+ * La caché tiene un límite de entradas y otro de peso, que es una estimación
+ * del tamaño de cada resultado en elementos. Cuando se supera alguno se
+ * desalojan los resultados usados hace más tiempo. Los resultados que se
+ * guardan deben ser inmutables, porque se entregan tal cual a cada consulta
+ * que los encuentra.
+ *
+ * @author Michael González
+ */
+public final class CacheConsultas {
+
+    /**
+     * Cantidad máxima de entradas que se usa si no se indica otra.
+     */
+    public static final int CAPACIDAD = 256;
+    /**
+     * Peso máximo que se usa si no se indica otro.
+     */
+    public static final long PESO_MAXIMO = 1L << 24;
+
+    private final int capacidad;
+    private final long pesoMaximo;
+    /**
+     * Entradas en orden de uso, de la usada hace más tiempo a la más
+     * reciente.
+     */
+    private final LinkedHashMap<Clave, Entrada> entradas;
+    private long epocaVigente;
+    private long peso;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+
+    /**
+     * Constructor con los límites por defecto.
+     */
+    public CacheConsultas() {
+        this(CAPACIDAD, PESO_MAXIMO);
+    }
+
+    /**
+     * Constructor que recibe los límites de la caché.
+     *
+     * @param capacidad cantidad máxima de resultados guardados
+     * @param pesoMaximo suma máxima de los pesos de los resultados guardados
+     * @throws IllegalArgumentException si algún límite no es positivo
+     */
+    public CacheConsultas(int capacidad, long pesoMaximo) {
+        if (capacidad <= 0 || pesoMaximo <= 0) {
+            throw new IllegalArgumentException("Los límites de la caché deben ser positivos");
+        }
+        this.capacidad = capacidad;
+        this.pesoMaximo = pesoMaximo;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Devuelve el resultado guardado de una consulta o, si no está, lo
+     * calcula y lo guarda. El cálculo se hace fuera del candado, así que
+     * otras consultas no lo esperan; si dos hilos piden a la vez la misma
+     * consulta, los dos la calculan.
+     *
+     * @param <T> tipo del resultado
+     * @param consulta nombre de la consulta
+     * @param epoca época del grafo en la que se hace la consulta
+     * @param parametros parámetros de la consulta; se comparan con
+     * {@code equals}
+     * @param calculo calcula el resultado si no está guardado
+     * @param medida estima el peso del resultado
+     * @return el resultado de la consulta
+     */
+    public <T> T obtener(String consulta, long epoca, Object[] parametros, Supplier<T> calculo,
+            ToLongFunction<? super T> medida) {
+        Clave clave = new Clave(consulta, epoca, parametros);
+        synchronized (this) {
+            descartarAnteriores(epoca);
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null) {
+                aciertos++;
+                @SuppressWarnings("unchecked")
+                T resultado = (T) entrada.resultado;
+                return resultado;
+            }
+            fallos++;
+        }
+        T resultado = calculo.get();
+        long pesoResultado = Math.max(1, medida.applyAsLong(resultado));
+        synchronized (this) {
+            descartarAnteriores(epoca);
+            if (epoca == epocaVigente && pesoResultado <= pesoMaximo) {
+                Entrada anterior = entradas.put(clave, new Entrada(resultado, pesoResultado));
+                if (anterior != null) {
+                    peso -= anterior.peso;
+                }
+                peso += pesoResultado;
+                desalojar();
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Si la época es más reciente que la de los resultados guardados, los
+     * descarta todos.
+     *
+     * @param epoca época de la consulta en curso
+     */
+    private void descartarAnteriores(long epoca) {
+        if (epoca > epocaVigente) {
+            invalidaciones += entradas.size();
+            entradas.clear();
+            peso = 0;
+            epocaVigente = epoca;
+        }
+    }
+
+    /**
+     * Desaloja los resultados usados hace más tiempo hasta que la caché
+     * vuelve a estar dentro de sus límites.
+     */
+    private void desalojar() {
+        Iterator<Entrada> antiguas = entradas.values().iterator();
+        while ((entradas.size() > capacidad || peso > pesoMaximo) && antiguas.hasNext()) {
+            peso -= antiguas.next().peso;
+            antiguas.remove();
+            desalojos++;
+        }
+    }
+
+    /**
+     * Descarta todos los resultados guardados. No reinicia los contadores.
+     */
+    public synchronized void clear() {
+        invalidaciones += entradas.size();
+        entradas.clear();
+        peso = 0;
+    }
+
+    /**
+     * Indica la cantidad de resultados guardados.
+     *
+     * @return la cantidad de entradas
+     */
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    //Getters
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public long getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public synchronized long getPeso() {
+        return peso;
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    public synchronized long getDesalojos() {
+        return desalojos;
+    }
+
+    public synchronized long getInvalidaciones() {
+        return invalidaciones;
+    }
+    //End Getters
+
+    /**
+     * Clave de un resultado: la consulta, la época y los parámetros.
+     */
+    private static final class Clave {
+
+        private final String consulta;
+        private final long epoca;
+        private final Object[] parametros;
+        private final int hash;
+
+        Clave(String consulta, long epoca, Object[] parametros) {
+            this.consulta = consulta;
+            this.epoca = epoca;
+            this.parametros = parametros;
+            this.hash = 31 * (31 * consulta.hashCode() + Long.hashCode(epoca)) + Arrays.hashCode(parametros);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Clave)) {
+                return false;
+            }
+            Clave otra = (Clave) obj;
+            return epoca == otra.epoca && consulta.equals(otra.consulta) && Arrays.equals(parametros, otra.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * Resultado guardado junto con su peso.
+     */
+    private static final class Entrada {
+
+        private final Object resultado;
+        private final long peso;
+
+        Entrada(Object resultado, long peso) {
+            this.resultado = resultado;
+            this.peso = peso;
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package controlador;
+
+import modelo.Vertice;
+
+/**
+ * Resultado de una búsqueda entre un par de vértices: el camino encontrado,
+ * su longitud y la cantidad de vértices que la búsqueda tuvo que explorar para
+ * encontrarlo.
+ *
+ * @author Michael González
+ * @see BusquedaPuntoAPunto
+ */
+public final class CaminoPuntoAPunto {
+
+    private final GrafoCSR grafo;
+    private final long distancia;
+    private final int[] camino;
+    private final int explorados;
+
+    /**
+     * Constructor que recibe los datos calculados por la búsqueda.
+     *
+     * @param grafo instantánea sobre la que se buscó
+     * @param distancia longitud del camino; {@link CaminosMinimos#INFINITO} si
+     * no hay camino
+     * @param camino identificadores del camino, desde el origen hasta el
+     * destino; vacío si no hay camino
+     * @param explorados cantidad de vértices que se expandieron
+     */
+    CaminoPuntoAPunto(GrafoCSR grafo, long distancia, int[] camino, int explorados) {
+        this.grafo = grafo;
+        this.distancia = distancia;
+        this.camino = camino;
+        this.explorados = explorados;
+    }
+
+    /**
+     * Indica si existe un camino entre el origen y el destino.
+     *
+     * @return verdadero si se encontró un camino
+     */
+    public boolean existe() {
+        return distancia != CaminosMinimos.INFINITO;
+    }
+
+    /**
+     * Devuelve los vértices del camino.
+     *
+     * @return Los vértices del camino, desde el origen hasta el destino. Una
+     * lista vacía si no hay camino.
+     */
+    public Lista<Vertice> getVertices() {
+        return grafo.aVertices(camino);
+    }
+
+    //Getters
+    public long getDistancia() {
+        return distancia;
+    }
+
+    public int[] getCamino() {
+        return camino.clone();
+    }
+
+    public int getExplorados() {
+        return explorados;
+    }
+    //End Getters
+
+}
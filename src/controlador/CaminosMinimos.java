@@ -0,0 +1,104 @@
+package controlador;
+
+/**
+ * Resultado de un cálculo de caminos mínimos desde un origen: la distancia
+ * ponderada hasta cada vértice y el predecesor de cada uno en el árbol de
+ * caminos mínimos, a partir del cual se reconstruyen los caminos.
+ *
+ * @author Michael González
+ */
+public final class CaminosMinimos {
+
+    /**
+     * Distancia que tienen los vértices que no son alcanzables desde el
+     * origen.
+     */
+    public static final long INFINITO = Long.MAX_VALUE;
+
+    private final int origen;
+    private final long[] distancias;
+    private final int[] predecesores;
+
+    /**
+     * Constructor que recibe los arreglos calculados.
+     *
+     * @param origen identificador del vértice de origen
+     * @param distancias distancia a cada vértice; {@link #INFINITO} si no se
+     * alcanzó
+     * @param predecesores vértice anterior en el camino mínimo; -1 para el
+     * origen y los no alcanzados
+     */
+    CaminosMinimos(int origen, long[] distancias, int[] predecesores) {
+        this.origen = origen;
+        this.distancias = distancias;
+        this.predecesores = predecesores;
+    }
+
+    /**
+     * Devuelve la distancia desde el origen hasta un vértice.
+     *
+     * @param v identificador del vértice
+     * @return la suma de pesos del camino mínimo, o {@link #INFINITO}
+     */
+    public long distancia(int v) {
+        return distancias[v];
+    }
+
+    /**
+     * Indica si un vértice es alcanzable desde el origen.
+     *
+     * @param v identificador del vértice
+     * @return verdadero si existe un camino
+     */
+    public boolean alcanzable(int v) {
+        return distancias[v] != INFINITO;
+    }
+
+    /**
+     * Devuelve el vértice anterior a uno dado en su camino mínimo.
+     *
+     * @param v identificador del vértice
+     * @return el predecesor, o -1 para el origen y los no alcanzables
+     */
+    public int predecesor(int v) {
+        return predecesores[v];
+    }
+
+    /**
+     * Reconstruye el camino mínimo desde el origen hasta un vértice siguiendo
+     * los predecesores.
+     *
+     * @param destino identificador del vértice final
+     * @return Los identificadores del camino, desde el origen hasta el destino.
+     * Un arreglo vacío si el destino no es alcanzable.
+     */
+    public int[] camino(int destino) {
+        if (!alcanzable(destino)) {
+            return new int[0];
+        }
+        int largo = 1;
+        for (int v = destino; v != origen; v = predecesores[v]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        for (int v = destino, i = largo - 1; i >= 0; v = predecesores[v], i--) {
+            camino[i] = v;
+        }
+        return camino;
+    }
+
+    //Getters
+    public int getOrigen() {
+        return origen;
+    }
+
+    public long[] getDistancias() {
+        return distancias.clone();
+    }
+
+    public int[] getPredecesores() {
+        return predecesores.clone();
+    }
+    //End Getters
+
+}
@@ -1,29 +1,72 @@
 package controlador;
 
-import modelo.Nodo;
+import java.util.Arrays;
 
 /**
  * Estructura de datos que crea una Cola en la que se van a almacenar datos del
  * tipo especificado. Esta clase se asemeja en estructura a la clase
- * {@code Queue} derivada de la interfaz {@code Collection}.
+ * {@code Queue} derivada de la interfaz {@code Collection}. Los elementos se
+ * guardan en un arreglo circular que duplica su tamaño cuando se llena, así que
+ * encolar y desencolar no crean objetos nuevos.
  *
  * @author Michael González
  * @param <T> Tipo de los elementos que se almacenarán en la Cola.
  */
 public class Cola<T> {
 
-    private Nodo<T> primero;
-    private Nodo<T> ultimo;
+    /**
+     * Capacidad con la que se crea el arreglo cuando no se especifica otra.
+     * Siempre es una potencia de dos.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+    /**
+     * Mayor potencia de dos que cabe en un {@code int}, y por tanto la mayor
+     * capacidad que se puede pedir.
+     */
+    static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+    private Object[] elementos;
+    private int primero;
     private int tamanio;
 
     /**
      * Constructor que inicializa los campos.
      */
     public Cola() {
-        this.primero = null;
-        this.ultimo = null;
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     *
+     * @param capacidad cantidad de elementos que se podrán encolar sin
+     * redimensionar el arreglo.
+     * @throws IllegalArgumentException si la capacidad supera
+     * {@link Cola#CAPACIDAD_MAXIMA}
+     */
+    public Cola(int capacidad) {
+        this.elementos = new Object[potenciaDeDos(capacidad)];
+        this.primero = 0;
         this.tamanio = 0;
+    }
 
+    /**
+     * Devuelve la menor potencia de dos que es mayor o igual a la capacidad.
+     *
+     * @param capacidad capacidad solicitada
+     * @return capacidad real del arreglo
+     * @throws IllegalArgumentException si la capacidad supera
+     * {@link #CAPACIDAD_MAXIMA}
+     */
+    static int potenciaDeDos(int capacidad) {
+        if (capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Capacidad demasiado grande: " + capacidad);
+        }
+        int real = 1;
+        while (real < capacidad) {
+            real <<= 1;
+        }
+        return real;
     }
 
     /**
@@ -44,13 +87,34 @@ public class Cola<T> {
         return tamanio;
     }
 
+    /**
+     * Convierte una posición de la cola en la posición del arreglo circular.
+     *
+     * @param index posición contada desde el primer elemento de la cola
+     * @return posición en el arreglo
+     */
+    private int posicion(int index) {
+        return (primero + index) & (elementos.length - 1);
+    }
+
+    /**
+     * Devuelve el elemento de una posición de la cola sin validar el índice.
+     *
+     * @param index posición contada desde el primer elemento
+     * @return el elemento en esa posición
+     */
+    @SuppressWarnings("unchecked")
+    private T elemento(int index) {
+        return (T) elementos[posicion(index)];
+    }
+
     /**
      * Selecciona y retorna el primer elemento en la cola.
      *
      * @return El primer elemento de la cola.
      */
     public T peek() {
-        return (!isEmpty()) ? primero.getDato() : null;
+        return (!isEmpty()) ? elemento(0) : null;
     }
 
     /**
@@ -62,14 +126,10 @@ public class Cola<T> {
         if (isEmpty()) {
             return null;
         }
-        T elemento = primero.getDato();
-        Nodo<T> aux = primero.getSiguiente();
-        primero = null;
-        primero = aux;
+        T elemento = elemento(0);
+        elementos[primero] = null; //Lo marco como null para el recolector
+        primero = posicion(1);
         tamanio--;
-        if (isEmpty()) {
-            ultimo = null;
-        }
         return elemento;
     }
 
@@ -80,57 +140,39 @@ public class Cola<T> {
      * @return El objeto encolado.
      */
     public T queue(T elemento) {
-        Nodo<T> aux = new Nodo(elemento, null);
-        if (isEmpty()) {
-            primero = aux;
-            ultimo = aux;
-        } else {
-            if (size() == 1) {
-                primero.setSiguiente(aux);
-            } else {
-                ultimo.setSiguiente(aux);
-            }
-            ultimo = aux;
+        if (tamanio == elementos.length) {
+            crecer();
         }
+        elementos[posicion(tamanio)] = elemento;
         tamanio++;
-        return aux.getDato();
+        return elemento;
     }
 
     /**
-     * Método para obtener un nodo de la lista. Si está vacío o el índice no es
-     * correcto, devuelve un valor nulo.
-     *
-     * @param index El índice especificado.
-     * @return El nodo de una posicion especificada.
+     * Duplica el tamaño del arreglo y deja los elementos en orden desde la
+     * posición cero.
      */
-    private Nodo<T> getNodo(int index) {
-        if (isEmpty() || (index < 0 || index >= size())) {
-            return null;
-        } else if (index == 0) {
-            return primero;
-        } else if (index == size() - 1) {
-            return ultimo;
-        } else {
-            Nodo<T> buscado = primero;
-            int contador = 0;
-            while (contador < index) {
-                contador++;
-                buscado = buscado.getSiguiente();
-            }
-            return buscado;
-        }
+    private void crecer() {
+        Object[] nuevo = new Object[elementos.length << 1];
+        int hastaElFinal = elementos.length - primero;
+        System.arraycopy(elementos, primero, nuevo, 0, hastaElFinal);
+        System.arraycopy(elementos, 0, nuevo, hastaElFinal, primero);
+        elementos = nuevo;
+        primero = 0;
     }
 
     /**
-     * Método para obtener un nodo de la cola. Si está vacío o el índice no es
-     * correcto, devuelve un valor nulo.
+     * Método para obtener un elemento de la cola. Si está vacío o el índice no
+     * es correcto, devuelve un valor nulo.
      *
      * @param index El índice del elemento deseado.
-     * @return El elemento en el nodo de una posicion especificada.
+     * @return El elemento en una posicion especificada.
      */
     public T get(int index) {
-        Nodo<T> buscado = getNodo(index);
-        return buscado.getDato();
+        if (index < 0 || index >= tamanio) {
+            return null;
+        }
+        return elemento(index);
     }
 
     /**
@@ -140,15 +182,9 @@ public class Cola<T> {
      * @return
      */
     public int indexOf(T elemento) {
-        if (!isEmpty()) {
-            Nodo<T> aux = primero;
-            int posicion = 0;
-            while (aux != null) {
-                if (elemento.equals(aux.getDato())) {
-                    return posicion;
-                }
-                posicion++;
-                aux = aux.getSiguiente();
+        for (int i = 0; i < tamanio; i++) {
+            if (elemento.equals(elementos[posicion(i)])) {
+                return i;
             }
         }
         return -1;
@@ -165,27 +201,25 @@ public class Cola<T> {
             return null;
         } else if (index == 0) {
             return pop();
-        } else {
-
-            //Cojo el nodo anterior al que quiero borrar
-            Nodo<T> nodo_anterior = getNodo(index - 1);
-
-            //Cojo el nodo que quiero borrar
-            Nodo<T> nodo_actual = getNodo(index);
-
-            //Cojo el elemento antes de borrar
-            T elemento = nodo_actual.getDato();
-
-            //Cojo el nodo siguiente al que quiero borrar
-            Nodo<T> nodo_siguiente = nodo_actual.getSiguiente();
-
-            //El nodo anterior apunta al nodo siguiente
-            nodo_anterior.setSiguiente(nodo_siguiente);
-
-            tamanio--;
-            return elemento;
-
         }
+        T elemento = elemento(index);
+        //Corro los elementos siguientes una posición hacia el frente
+        for (int i = index; i < tamanio - 1; i++) {
+            elementos[posicion(i)] = elementos[posicion(i + 1)];
+        }
+        elementos[posicion(tamanio - 1)] = null;
+        tamanio--;
+        return elemento;
+    }
+
+    /**
+     * Vacía la cola. Se conserva el arreglo para poder volver a usarla sin
+     * reservar memoria.
+     */
+    public void clear() {
+        Arrays.fill(elementos, null);
+        primero = 0;
+        tamanio = 0;
     }
 
     /**
@@ -196,15 +230,12 @@ public class Cola<T> {
     public String print() {
         if (isEmpty()) {
             return "La lista esta vacia";
-        } else {
-            String cadena = "";
-            Nodo<T> aux = primero;
-            while (aux != null) {
-                cadena += aux.getDato().toString();
-                aux = aux.getSiguiente();
-            }
-            return cadena;
         }
+        StringBuilder cadena = new StringBuilder();
+        for (int i = 0; i < tamanio; i++) {
+            cadena.append(elemento(i).toString());
+        }
+        return cadena.toString();
     }
 
 }
@@ -0,0 +1,125 @@
+package controlador;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Cola de enteros primitivos sobre un arreglo circular. Está pensada para los
+ * recorridos sobre identificadores de vértices: no crea un objeto por elemento
+ * y, gracias a {@link #clear()}, el mismo arreglo se puede reutilizar entre
+ * recorridos.
+ *
+ * @author Michael González
+ * @see Cola
+ */
+public class ColaEnteros {
+
+    private int[] elementos;
+    private int primero;
+    private int tamanio;
+
+    /**
+     * Constructor que inicializa la cola con la capacidad por defecto.
+     */
+    public ColaEnteros() {
+        this(16);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     *
+     * @param capacidad cantidad de elementos que se podrán encolar sin
+     * redimensionar el arreglo.
+     * @throws IllegalArgumentException si la capacidad supera
+     * {@link Cola#CAPACIDAD_MAXIMA}
+     */
+    public ColaEnteros(int capacidad) {
+        this.elementos = new int[Cola.potenciaDeDos(capacidad)];
+        this.primero = 0;
+        this.tamanio = 0;
+    }
+
+    /**
+     * Indica si la cola esta vacia.
+     *
+     * @return verdadero o falso si la cola está vacía.
+     */
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Indica el tamaño de la cola.
+     *
+     * @return cantidad de elementos encolados
+     */
+    public int size() {
+        return tamanio;
+    }
+
+    /**
+     * Retorna el primer elemento de la cola sin sacarlo.
+     *
+     * @return El primer elemento de la cola.
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("La cola esta vacia");
+        }
+        return elementos[primero];
+    }
+
+    /**
+     * Elimina y devuelve el primer elemento de la cola.
+     *
+     * @return El primer elemento de la cola.
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public int pop() {
+        int elemento = peek();
+        primero = (primero + 1) & (elementos.length - 1);
+        tamanio--;
+        return elemento;
+    }
+
+    /**
+     * Encola un nuevo elemento. Si el arreglo está lleno, se duplica su tamaño.
+     *
+     * @param elemento El entero que se va a encolar.
+     */
+    public void queue(int elemento) {
+        if (tamanio == elementos.length) {
+            int[] nuevo = new int[elementos.length << 1];
+            int hastaElFinal = elementos.length - primero;
+            System.arraycopy(elementos, primero, nuevo, 0, hastaElFinal);
+            System.arraycopy(elementos, 0, nuevo, hastaElFinal, primero);
+            elementos = nuevo;
+            primero = 0;
+        }
+        elementos[(primero + tamanio) & (elementos.length - 1)] = elemento;
+        tamanio++;
+    }
+
+    /**
+     * Obtiene el elemento de la posición indicada, contada desde el primero.
+     *
+     * @param index posición del elemento
+     * @return el elemento en esa posición
+     * @throws IndexOutOfBoundsException si el índice no es correcto
+     */
+    public int get(int index) {
+        if (index < 0 || index >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + tamanio);
+        }
+        return elementos[(primero + index) & (elementos.length - 1)];
+    }
+
+    /**
+     * Vacía la cola conservando el arreglo reservado.
+     */
+    public void clear() {
+        primero = 0;
+        tamanio = 0;
+    }
+
+}
@@ -0,0 +1,200 @@
+package controlador;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Etiquetado en paralelo de las componentes conexas de una instantánea
+ * {@link GrafoCSR}, con el algoritmo Afforest (Sutton et al.), que parte del
+ * enganche y el acortamiento de Shiloach-Vishkin.
+ *
+ * Cada vértice guarda un padre en un arreglo atómico y los árboles que forman
+ * los padres son las componentes. Enlazar dos vértices cuelga, con CAS, la
+ * raíz mayor de la menor, así que la raíz de cada componente termina siendo
+ * su vértice de menor identificador. El algoritmo:
+ * <ol>
+ * <li>Enlaza cada vértice con sus primeros {@link #RONDAS_VECINOS} vecinos,
+ * lo que ya une casi todo el grafo en pocas componentes grandes.</li>
+ * <li>Toma una muestra de vértices para encontrar la componente más
+ * grande.</li>
+ * <li>Enlaza el resto de los arcos, saltándose los vértices que ya están en
+ * la componente más grande. Como cada arista aparece en la fila de sus dos
+ * extremos, la revisa el extremo que está fuera de ella.</li>
+ * </ol>
+ *
+ * En un grafo dirigido se ignora el sentido de las aristas y se obtienen las
+ * componentes débilmente conexas. Como allí cada arista solo está en la fila
+ * de su origen, en el último paso los vértices fuera de la componente más
+ * grande también enlazan sus arcos de entrada.
+ *
+ * @author Michael González
+ */
+public final class ComponentesConexas {
+
+    /**
+     * Cantidad de vecinos de cada vértice que se enlazan antes del muestreo.
+     */
+    public static final int RONDAS_VECINOS = 2;
+    /**
+     * Cantidad de vértices que se toman para estimar la componente más
+     * grande.
+     */
+    private static final int MUESTRAS = 1024;
+    /**
+     * Cantidad mínima de vértices que se le asigna a cada tarea.
+     */
+    private static final int TROZO_MINIMO = 4096;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public ComponentesConexas(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea del grafo
+     * @param pool hilos entre los que se reparten los vértices
+     */
+    public ComponentesConexas(GrafoCSR grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula la componente conexa de cada vértice.
+     *
+     * @return La etiqueta de cada vértice: el menor identificador de su
+     * componente. Dos vértices están conectados si y solo si tienen la misma
+     * etiqueta.
+     */
+    public int[] etiquetas() {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int[] desplazamientosEntrada = grafo.desplazamientosEntrada;
+        int[] origenes = grafo.origenes;
+        boolean dirigido = grafo.esDirigido();
+        AtomicIntegerArray padres = new AtomicIntegerArray(n);
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int v = desde; v < hasta; v++) {
+                padres.lazySet(v, v);
+            }
+        });
+        for (int ronda = 0; ronda < RONDAS_VECINOS; ronda++) {
+            int r = ronda;
+            RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+                for (int u = desde; u < hasta; u++) {
+                    int arco = desplazamientos[u] + r;
+                    if (arco < desplazamientos[u + 1]) {
+                        enlazar(padres, u, destinos[arco]);
+                    }
+                }
+            });
+            comprimir(padres);
+        }
+        int mayor = componenteMasFrecuente(padres);
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int u = desde; u < hasta; u++) {
+                if (padres.get(u) == mayor) {
+                    continue;
+                }
+                for (int arco = desplazamientos[u] + RONDAS_VECINOS; arco < desplazamientos[u + 1]; arco++) {
+                    enlazar(padres, u, destinos[arco]);
+                }
+                if (dirigido) {
+                    for (int arco = desplazamientosEntrada[u]; arco < desplazamientosEntrada[u + 1]; arco++) {
+                        enlazar(padres, u, origenes[arco]);
+                    }
+                }
+            }
+        });
+        comprimir(padres);
+        int[] etiquetas = new int[n];
+        for (int v = 0; v < n; v++) {
+            etiquetas[v] = padres.get(v);
+        }
+        return etiquetas;
+    }
+
+    /**
+     * Une los árboles de dos vértices colgando la raíz mayor de la menor. Si
+     * otro hilo cambia la raíz mayor antes del CAS, se vuelve a intentar con
+     * los padres actualizados.
+     *
+     * @param padres padre de cada vértice
+     * @param u uno de los vértices
+     * @param v el otro vértice
+     */
+    private static void enlazar(AtomicIntegerArray padres, int u, int v) {
+        int p1 = padres.get(u);
+        int p2 = padres.get(v);
+        while (p1 != p2) {
+            int alto = Math.max(p1, p2);
+            int bajo = Math.min(p1, p2);
+            int padreAlto = padres.get(alto);
+            if (padreAlto == bajo || (padreAlto == alto && padres.compareAndSet(alto, alto, bajo))) {
+                break;
+            }
+            p1 = padres.get(padres.get(alto));
+            p2 = padres.get(bajo);
+        }
+    }
+
+    /**
+     * Acorta los árboles para que cada vértice apunte directamente a su raíz.
+     *
+     * @param padres padre de cada vértice
+     */
+    private void comprimir(AtomicIntegerArray padres) {
+        RangoParalelo.paraCada(pool, padres.length(), TROZO_MINIMO, (desde, hasta) -> {
+            for (int v = desde; v < hasta; v++) {
+                int padre = padres.get(v);
+                int abuelo = padres.get(padre);
+                while (padre != abuelo) {
+                    padres.set(v, abuelo);
+                    padre = abuelo;
+                    abuelo = padres.get(padre);
+                }
+            }
+        });
+    }
+
+    /**
+     * Estima cuál es la componente más grande contando las raíces de una
+     * muestra de vértices.
+     *
+     * @param padres padre de cada vértice, ya comprimido
+     * @return la raíz que más se repite en la muestra, o -1 si el grafo está
+     * vacío
+     */
+    private static int componenteMasFrecuente(AtomicIntegerArray padres) {
+        int n = padres.length();
+        if (n == 0) {
+            return -1;
+        }
+        Random aleatorio = new Random(n);
+        HashMap<Integer, Integer> frecuencias = new HashMap<>();
+        int mayor = -1;
+        int frecuenciaMayor = 0;
+        for (int i = 0; i < MUESTRAS; i++) {
+            int raiz = padres.get(aleatorio.nextInt(n));
+            int frecuencia = frecuencias.merge(raiz, 1, Integer::sum);
+            if (frecuencia > frecuenciaMayor) {
+                mayor = raiz;
+                frecuenciaMayor = frecuencia;
+            }
+        }
+        return mayor;
+    }
+
+}
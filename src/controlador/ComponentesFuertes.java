@@ -0,0 +1,371 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Componentes fuertemente conexas de una instantánea {@link GrafoCSR}. Dos
+ * vértices están en la misma componente si cada uno es alcanzable desde el
+ * otro siguiendo el sentido de las aristas; en un grafo no dirigido son las
+ * componentes conexas.
+ *
+ * Hay dos algoritmos, y los dos devuelven la misma {@link Condensacion}:
+ * <ul>
+ * <li>{@link #tarjan()}: Tarjan secuencial, con la pila de llamadas en una
+ * {@link PilaEnteros} en lugar de la recursión, así que no desborda la pila
+ * del hilo en grafos con caminos muy largos.</li>
+ * <li>{@link #adelanteAtras()}: el algoritmo adelante-atrás (Fleischer,
+ * Hendrickson y Pinar) en paralelo. Primero recorta los vértices sin aristas
+ * de entrada o de salida, que son componentes de un solo vértice. Luego
+ * elige un pivote del conjunto que queda, marca los alcanzables desde él y
+ * los que lo alcanzan, y la intersección es su componente. Los tres
+ * conjuntos restantes no comparten ninguna componente y se resuelven como
+ * tareas independientes; los pequeños, con Tarjan.</li>
+ * </ul>
+ *
+ * Ambos usan memoria proporcional a la cantidad de vértices más la de
+ * aristas: arreglos de enteros por vértice y las filas de la instantánea.
+ *
+ * @author Michael González
+ */
+public final class ComponentesFuertes {
+
+    /**
+     * Tamaño a partir del cual un conjunto se divide con un pivote en lugar
+     * de resolverse con Tarjan.
+     */
+    private static final int UMBRAL_SECUENCIAL = 4096;
+    /**
+     * Color de los vértices que ya tienen componente asignada.
+     */
+    private static final int RESUELTO = -1;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public ComponentesFuertes(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado en {@link #adelanteAtras()}.
+     *
+     * @param grafo instantánea del grafo
+     * @param pool hilos entre los que se reparten los conjuntos
+     */
+    public ComponentesFuertes(GrafoCSR grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas con el algoritmo de Tarjan
+     * iterativo.
+     *
+     * @return las componentes y su grafo de condensación
+     */
+    public Condensacion tarjan() {
+        int n = grafo.cantidadVertices();
+        Ejecucion ejecucion = new Ejecucion(n);
+        int[] todos = new int[n];
+        for (int v = 0; v < n; v++) {
+            todos[v] = v;
+        }
+        ejecucion.tarjan(todos, 0);
+        return new Condensacion(grafo, ejecucion.etiquetas, ejecucion.componentes.get());
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas con el algoritmo
+     * adelante-atrás en paralelo.
+     *
+     * @return las componentes y su grafo de condensación
+     */
+    public Condensacion adelanteAtras() {
+        int n = grafo.cantidadVertices();
+        Ejecucion ejecucion = new Ejecucion(n);
+        int[] restantes = ejecucion.recortar();
+        if (restantes.length > 0) {
+            pool.invoke(ejecucion.new Division(null, restantes, 0));
+        }
+        return new Condensacion(grafo, ejecucion.etiquetas, ejecucion.componentes.get());
+    }
+
+    /**
+     * Estado de un cálculo. Cada conjunto pendiente tiene un color propio, y
+     * una tarea solo escribe en los vértices de su color; los vértices de
+     * otros conjuntos nunca tienen ese color, así que leerlos sin
+     * sincronizar no cambia el resultado.
+     */
+    private final class Ejecucion {
+
+        private final int[] etiquetas;
+        private final int[] colores;
+        private final AtomicInteger componentes = new AtomicInteger();
+        private final AtomicInteger siguienteColor = new AtomicInteger(1);
+        //Estado de Tarjan; cada vértice lo usa solo la tarea de su conjunto
+        private final int[] indices;
+        private final int[] bajos;
+        private final int[] cursores;
+        private final boolean[] enPila;
+
+        Ejecucion(int n) {
+            this.etiquetas = new int[n];
+            this.colores = new int[n];
+            this.indices = new int[n];
+            this.bajos = new int[n];
+            this.cursores = new int[n];
+            this.enPila = new boolean[n];
+            Arrays.fill(etiquetas, -1);
+            Arrays.fill(indices, -1);
+        }
+
+        /**
+         * Quita, en cascada, los vértices que no tienen aristas de entrada o
+         * de salida hacia vértices sin resolver. Cada uno es una componente
+         * por sí solo.
+         *
+         * @return los vértices que quedan sin resolver
+         */
+        int[] recortar() {
+            int n = etiquetas.length;
+            int[] gradosSalida = new int[n];
+            int[] gradosEntrada = new int[n];
+            ColaEnteros cola = new ColaEnteros();
+            for (int v = 0; v < n; v++) {
+                gradosSalida[v] = grafo.grado(v);
+                gradosEntrada[v] = grafo.gradoEntrada(v);
+                if (gradosSalida[v] == 0 || gradosEntrada[v] == 0) {
+                    resolver(v, componentes.getAndIncrement());
+                    cola.queue(v);
+                }
+            }
+            while (!cola.isEmpty()) {
+                int u = cola.pop();
+                for (int arco = grafo.desplazamientos[u]; arco < grafo.desplazamientos[u + 1]; arco++) {
+                    int v = grafo.destinos[arco];
+                    if (etiquetas[v] < 0 && --gradosEntrada[v] == 0) {
+                        resolver(v, componentes.getAndIncrement());
+                        cola.queue(v);
+                    }
+                }
+                for (int arco = grafo.desplazamientosEntrada[u]; arco < grafo.desplazamientosEntrada[u + 1]; arco++) {
+                    int v = grafo.origenes[arco];
+                    if (etiquetas[v] < 0 && --gradosSalida[v] == 0) {
+                        resolver(v, componentes.getAndIncrement());
+                        cola.queue(v);
+                    }
+                }
+            }
+            int cantidad = 0;
+            for (int v = 0; v < n; v++) {
+                if (etiquetas[v] < 0) {
+                    cantidad++;
+                }
+            }
+            int[] restantes = new int[cantidad];
+            int i = 0;
+            for (int v = 0; v < n; v++) {
+                if (etiquetas[v] < 0) {
+                    restantes[i++] = v;
+                }
+            }
+            return restantes;
+        }
+
+        /**
+         * Asigna la componente de un vértice y lo saca de su conjunto.
+         *
+         * @param v identificador del vértice
+         * @param componente número de la componente
+         */
+        private void resolver(int v, int componente) {
+            etiquetas[v] = componente;
+            colores[v] = RESUELTO;
+        }
+
+        /**
+         * Tarjan iterativo restringido a un conjunto: solo sigue las aristas
+         * que llegan a vértices del mismo color. La pila de llamadas guarda
+         * los vértices en curso, y el cursor de cada uno indica el siguiente
+         * arco que falta revisar.
+         *
+         * @param miembros vértices del conjunto
+         * @param color color del conjunto
+         */
+        void tarjan(int[] miembros, int color) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            PilaEnteros llamadas = new PilaEnteros();
+            PilaEnteros pila = new PilaEnteros();
+            int contador = 0;
+            for (int s : miembros) {
+                if (indices[s] >= 0) {
+                    continue;
+                }
+                indices[s] = bajos[s] = contador++;
+                cursores[s] = desplazamientos[s];
+                llamadas.push(s);
+                pila.push(s);
+                enPila[s] = true;
+                while (!llamadas.isEmpty()) {
+                    int u = llamadas.peek();
+                    if (cursores[u] < desplazamientos[u + 1]) {
+                        int v = destinos[cursores[u]++];
+                        if (colores[v] != color) {
+                            continue;
+                        }
+                        if (indices[v] < 0) {
+                            indices[v] = bajos[v] = contador++;
+                            cursores[v] = desplazamientos[v];
+                            llamadas.push(v);
+                            pila.push(v);
+                            enPila[v] = true;
+                        } else if (enPila[v]) {
+                            bajos[u] = Math.min(bajos[u], indices[v]);
+                        }
+                        continue;
+                    }
+                    //Se terminaron los arcos de u: vuelve a su padre
+                    llamadas.pop();
+                    if (!llamadas.isEmpty()) {
+                        int padre = llamadas.peek();
+                        bajos[padre] = Math.min(bajos[padre], bajos[u]);
+                    }
+                    if (bajos[u] == indices[u]) {
+                        int componente = componentes.getAndIncrement();
+                        int w;
+                        do {
+                            w = pila.pop();
+                            enPila[w] = false;
+                            resolver(w, componente);
+                        } while (w != u);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Tarea que resuelve un conjunto de vértices del mismo color. Se
+         * completa cuando terminan las tareas de los conjuntos en que se
+         * dividió, sin bloquear el hilo mientras las espera.
+         */
+        private final class Division extends CountedCompleter<Void> {
+
+            private static final long serialVersionUID = 1L;
+            private final int[] miembros;
+            private final int color;
+
+            Division(CountedCompleter<?> padre, int[] miembros, int color) {
+                super(padre);
+                this.miembros = miembros;
+                this.color = color;
+            }
+
+            @Override
+            public void compute() {
+                if (miembros.length <= UMBRAL_SECUENCIAL) {
+                    tarjan(miembros, color);
+                } else {
+                    dividir();
+                }
+                tryComplete();
+            }
+
+            /**
+             * Resuelve la componente de un pivote al azar y reparte el resto
+             * del conjunto en los alcanzables desde el pivote, los que lo
+             * alcanzan y los demás.
+             */
+            private void dividir() {
+                int pivote = miembros[ThreadLocalRandom.current().nextInt(miembros.length)];
+                int colorAdelante = siguienteColor.getAndIncrement();
+                int colorAtras = siguienteColor.getAndIncrement();
+                //Adelante: los alcanzables desde el pivote pasan a colorAdelante
+                ColaEnteros cola = new ColaEnteros();
+                colores[pivote] = colorAdelante;
+                cola.queue(pivote);
+                while (!cola.isEmpty()) {
+                    int u = cola.pop();
+                    for (int arco = grafo.desplazamientos[u]; arco < grafo.desplazamientos[u + 1]; arco++) {
+                        int v = grafo.destinos[arco];
+                        if (colores[v] == color) {
+                            colores[v] = colorAdelante;
+                            cola.queue(v);
+                        }
+                    }
+                }
+                //Atrás: los que alcanzan al pivote y ya eran alcanzables son su componente
+                int componente = componentes.getAndIncrement();
+                resolver(pivote, componente);
+                cola.queue(pivote);
+                while (!cola.isEmpty()) {
+                    int u = cola.pop();
+                    for (int arco = grafo.desplazamientosEntrada[u]; arco < grafo.desplazamientosEntrada[u + 1]; arco++) {
+                        int v = grafo.origenes[arco];
+                        if (colores[v] == colorAdelante) {
+                            resolver(v, componente);
+                            cola.queue(v);
+                        } else if (colores[v] == color) {
+                            colores[v] = colorAtras;
+                            cola.queue(v);
+                        }
+                    }
+                }
+                int[] cantidades = new int[3];
+                for (int v : miembros) {
+                    int parte = parte(colores[v], colorAdelante, colorAtras);
+                    if (parte >= 0) {
+                        cantidades[parte]++;
+                    }
+                }
+                int[][] partes = {new int[cantidades[0]], new int[cantidades[1]], new int[cantidades[2]]};
+                Arrays.fill(cantidades, 0);
+                for (int v : miembros) {
+                    int parte = parte(colores[v], colorAdelante, colorAtras);
+                    if (parte >= 0) {
+                        partes[parte][cantidades[parte]++] = v;
+                    }
+                }
+                int[] coloresPartes = {colorAdelante, colorAtras, color};
+                for (int parte = 0; parte < 3; parte++) {
+                    if (partes[parte].length > 0) {
+                        addToPendingCount(1);
+                        new Division(this, partes[parte], coloresPartes[parte]).fork();
+                    }
+                }
+            }
+
+        }
+
+    }
+
+    /**
+     * Indica a cuál de los conjuntos que deja una división pertenece un
+     * vértice según su color.
+     *
+     * @param color color del vértice
+     * @param colorAdelante color de los alcanzables desde el pivote
+     * @param colorAtras color de los que alcanzan al pivote
+     * @return 0 si es alcanzable desde el pivote, 1 si lo alcanza, -1 si ya
+     * está resuelto y 2 en otro caso
+     */
+    private static int parte(int color, int colorAdelante, int colorAtras) {
+        if (color == RESUELTO) {
+            return -1;
+        }
+        if (color == colorAdelante) {
+            return 0;
+        }
+        return color == colorAtras ? 1 : 2;
+    }
+
+}
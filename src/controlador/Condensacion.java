@@ -0,0 +1,241 @@
+package controlador;
+
+import java.util.Arrays;
+
+/**
+ * Descomposición de un grafo en componentes fuertemente conexas y su grafo de
+ * condensación: un grafo acíclico con un vértice por componente y un arco de
+ * una componente a otra cuando alguna arista va de un vértice de la primera a
+ * uno de la segunda.
+ *
+ * Las componentes se numeran en orden topológico, así que todo arco de la
+ * condensación va de una componente a otra de número mayor. La numeración no
+ * depende del algoritmo con el que se calcularon: a igual orden topológico,
+ * va primero la componente con el menor identificador de vértice.
+ *
+ * @author Michael González
+ * @see ComponentesFuertes
+ */
+public final class Condensacion {
+
+    private final int[] componentes;
+    private final int cantidad;
+    /**
+     * Vértices de cada componente, agrupados en filas como en
+     * {@link GrafoCSR}.
+     */
+    private final int[] desplazamientosMiembros;
+    private final int[] miembros;
+    /**
+     * Arcos de la condensación, sin repetir, agrupados en filas.
+     */
+    private final int[] desplazamientos;
+    private final int[] sucesores;
+
+    /**
+     * Arma la condensación a partir de una etiqueta por vértice. Las
+     * etiquetas pueden ser cualquier numeración densa de las componentes; se
+     * renumeran en orden topológico.
+     *
+     * @param grafo instantánea de la que provienen las componentes
+     * @param etiquetas componente de cada vértice, entre 0 y cantidad - 1
+     * @param cantidad cantidad de componentes
+     */
+    Condensacion(GrafoCSR grafo, int[] etiquetas, int cantidad) {
+        int n = etiquetas.length;
+        this.cantidad = cantidad;
+        //Numeración canónica: por orden de aparición del primer vértice
+        int[] canonicas = new int[cantidad];
+        Arrays.fill(canonicas, -1);
+        int siguiente = 0;
+        int[] componentesCanonicas = new int[n];
+        for (int v = 0; v < n; v++) {
+            if (canonicas[etiquetas[v]] < 0) {
+                canonicas[etiquetas[v]] = siguiente++;
+            }
+            componentesCanonicas[v] = canonicas[etiquetas[v]];
+        }
+        //Orden topológico de Kahn; a igual orden, la menor componente canónica
+        int[][] filas = agrupar(componentesCanonicas, cantidad);
+        int[][] arcos = arcos(grafo, componentesCanonicas, cantidad, filas[0], filas[1]);
+        int[] gradosEntrada = new int[cantidad];
+        for (int destino : arcos[1]) {
+            gradosEntrada[destino]++;
+        }
+        ColaEnteros cola = new ColaEnteros();
+        for (int c = 0; c < cantidad; c++) {
+            if (gradosEntrada[c] == 0) {
+                cola.queue(c);
+            }
+        }
+        int[] ordenes = new int[cantidad];
+        int orden = 0;
+        while (!cola.isEmpty()) {
+            int c = cola.pop();
+            ordenes[c] = orden++;
+            for (int arco = arcos[0][c]; arco < arcos[0][c + 1]; arco++) {
+                if (--gradosEntrada[arcos[1][arco]] == 0) {
+                    cola.queue(arcos[1][arco]);
+                }
+            }
+        }
+        this.componentes = new int[n];
+        for (int v = 0; v < n; v++) {
+            componentes[v] = ordenes[componentesCanonicas[v]];
+        }
+        filas = agrupar(componentes, cantidad);
+        this.desplazamientosMiembros = filas[0];
+        this.miembros = filas[1];
+        arcos = arcos(grafo, componentes, cantidad, desplazamientosMiembros, miembros);
+        this.desplazamientos = arcos[0];
+        this.sucesores = arcos[1];
+    }
+
+    /**
+     * Agrupa los vértices por componente con un ordenamiento por conteo.
+     *
+     * @param componentes componente de cada vértice
+     * @param cantidad cantidad de componentes
+     * @return el inicio de la fila de cada componente y los vértices de las
+     * filas
+     */
+    private static int[][] agrupar(int[] componentes, int cantidad) {
+        int[] inicios = new int[cantidad + 1];
+        for (int c : componentes) {
+            inicios[c + 1]++;
+        }
+        for (int c = 0; c < cantidad; c++) {
+            inicios[c + 1] += inicios[c];
+        }
+        int[] cursores = Arrays.copyOf(inicios, cantidad);
+        int[] vertices = new int[componentes.length];
+        for (int v = 0; v < componentes.length; v++) {
+            vertices[cursores[componentes[v]]++] = v;
+        }
+        return new int[][]{inicios, vertices};
+    }
+
+    /**
+     * Calcula los arcos de la condensación sin repetirlos. La primera pasada
+     * cuenta los sucesores de cada componente y la segunda los guarda; en
+     * ambas, una marca por componente evita contar dos veces el mismo.
+     *
+     * @param grafo instantánea del grafo
+     * @param componentes componente de cada vértice
+     * @param cantidad cantidad de componentes
+     * @param inicios inicio de la fila de vértices de cada componente
+     * @param vertices vértices agrupados por componente
+     * @return el inicio de la fila de cada componente y los sucesores de las
+     * filas
+     */
+    private static int[][] arcos(GrafoCSR grafo, int[] componentes, int cantidad, int[] inicios, int[] vertices) {
+        int[] desplazamientos = new int[cantidad + 1];
+        int[] marcas = new int[cantidad];
+        Arrays.fill(marcas, -1);
+        for (int c = 0; c < cantidad; c++) {
+            for (int i = inicios[c]; i < inicios[c + 1]; i++) {
+                int u = vertices[i];
+                for (int arco = grafo.desplazamientos[u]; arco < grafo.desplazamientos[u + 1]; arco++) {
+                    int d = componentes[grafo.destinos[arco]];
+                    if (d != c && marcas[d] != c) {
+                        marcas[d] = c;
+                        desplazamientos[c + 1]++;
+                    }
+                }
+            }
+            desplazamientos[c + 1] += desplazamientos[c];
+        }
+        int[] sucesores = new int[desplazamientos[cantidad]];
+        Arrays.fill(marcas, -1);
+        int posicion = 0;
+        for (int c = 0; c < cantidad; c++) {
+            for (int i = inicios[c]; i < inicios[c + 1]; i++) {
+                int u = vertices[i];
+                for (int arco = grafo.desplazamientos[u]; arco < grafo.desplazamientos[u + 1]; arco++) {
+                    int d = componentes[grafo.destinos[arco]];
+                    if (d != c && marcas[d] != c) {
+                        marcas[d] = c;
+                        sucesores[posicion++] = d;
+                    }
+                }
+            }
+        }
+        return new int[][]{desplazamientos, sucesores};
+    }
+
+    /**
+     * Indica la cantidad de componentes fuertemente conexas.
+     *
+     * @return la cantidad de componentes
+     */
+    public int cantidadComponentes() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve la componente a la que pertenece un vértice.
+     *
+     * @param v identificador del vértice
+     * @return el número de su componente
+     */
+    public int componente(int v) {
+        return componentes[v];
+    }
+
+    /**
+     * Indica la cantidad de vértices de una componente.
+     *
+     * @param c número de la componente
+     * @return la cantidad de vértices
+     */
+    public int tamanio(int c) {
+        return desplazamientosMiembros[c + 1] - desplazamientosMiembros[c];
+    }
+
+    /**
+     * Devuelve los vértices de una componente.
+     *
+     * @param c número de la componente
+     * @return los identificadores de sus vértices, en orden creciente
+     */
+    public int[] vertices(int c) {
+        return Arrays.copyOfRange(miembros, desplazamientosMiembros[c], desplazamientosMiembros[c + 1]);
+    }
+
+    /**
+     * Devuelve las componentes a las que llega algún arco de una componente
+     * en la condensación.
+     *
+     * @param c número de la componente
+     * @return los números de sus sucesores, sin repetir
+     */
+    public int[] sucesores(int c) {
+        return Arrays.copyOfRange(sucesores, desplazamientos[c], desplazamientos[c + 1]);
+    }
+
+    /**
+     * Indica la cantidad de arcos de la condensación.
+     *
+     * @return la cantidad de pares de componentes unidos por alguna arista
+     */
+    public int cantidadArcos() {
+        return sucesores.length;
+    }
+
+    /**
+     * Indica si el grafo tiene algún ciclo, es decir, si alguna componente
+     * tiene más de un vértice.
+     *
+     * @return verdadero si hay ciclos
+     */
+    public boolean tieneCiclos() {
+        return cantidad < componentes.length;
+    }
+
+    //Getters
+    public int[] getComponentes() {
+        return componentes.clone();
+    }
+    //End Getters
+
+}
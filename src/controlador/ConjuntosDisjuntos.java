@@ -0,0 +1,166 @@
+package controlador;
+
+import java.util.Arrays;
+
+/**
+ * Estructura de conjuntos disjuntos (union-find) sobre identificadores enteros
+ * densos. Cada conjunto se representa como un árbol en el arreglo de padres;
+ * la búsqueda comprime el camino hasta la raíz y la unión cuelga el árbol de
+ * menor rango del de mayor rango. Con las dos técnicas, una secuencia de
+ * operaciones cuesta un tiempo amortizado casi constante por operación
+ * (inversa de la función de Ackermann).
+ *
+ * Los elementos se agregan de uno en uno, así que la estructura puede crecer
+ * a la par del grafo.
+ *
+ * @author Michael González
+ */
+public final class ConjuntosDisjuntos {
+
+    private static final int CAPACIDAD_INICIAL = 10;
+
+    private int[] padres;
+    private byte[] rangos;
+    /**
+     * Cantidad de elementos del conjunto de cada raíz. Solo es válido en las
+     * raíces.
+     */
+    private int[] tamanios;
+    private int elementos;
+    private int conjuntos;
+
+    /**
+     * Constructor que crea una estructura vacía.
+     */
+    public ConjuntosDisjuntos() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     *
+     * @param capacidad cantidad de elementos esperada
+     */
+    public ConjuntosDisjuntos(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        this.padres = new int[capacidad];
+        this.rangos = new byte[capacidad];
+        this.tamanios = new int[capacidad];
+    }
+
+    /**
+     * Agrega un elemento nuevo en un conjunto propio.
+     *
+     * @return el identificador del elemento, que es la cantidad de elementos
+     * que había antes de agregarlo
+     */
+    public int agregar() {
+        if (elementos == padres.length) {
+            int capacidad = padres.length + (padres.length >> 1) + 1;
+            padres = Arrays.copyOf(padres, capacidad);
+            rangos = Arrays.copyOf(rangos, capacidad);
+            tamanios = Arrays.copyOf(tamanios, capacidad);
+        }
+        int id = elementos++;
+        padres[id] = id;
+        rangos[id] = 0;
+        tamanios[id] = 1;
+        conjuntos++;
+        return id;
+    }
+
+    /**
+     * Busca la raíz del conjunto al que pertenece un elemento. Todos los
+     * elementos del camino quedan colgando directamente de la raíz.
+     *
+     * @param x identificador del elemento
+     * @return el identificador del representante de su conjunto
+     */
+    public int buscar(int x) {
+        int raiz = x;
+        while (padres[raiz] != raiz) {
+            raiz = padres[raiz];
+        }
+        while (padres[x] != raiz) {
+            int siguiente = padres[x];
+            padres[x] = raiz;
+            x = siguiente;
+        }
+        return raiz;
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     *
+     * @param a identificador de un elemento
+     * @param b identificador del otro elemento
+     * @return verdadero si estaban en conjuntos distintos
+     */
+    public boolean unir(int a, int b) {
+        int raizA = buscar(a);
+        int raizB = buscar(b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (rangos[raizA] < rangos[raizB]) {
+            int temporal = raizA;
+            raizA = raizB;
+            raizB = temporal;
+        } else if (rangos[raizA] == rangos[raizB]) {
+            rangos[raizA]++;
+        }
+        padres[raizB] = raizA;
+        tamanios[raizA] += tamanios[raizB];
+        conjuntos--;
+        return true;
+    }
+
+    /**
+     * Indica si dos elementos están en el mismo conjunto.
+     *
+     * @param a identificador de un elemento
+     * @param b identificador del otro elemento
+     * @return verdadero si tienen el mismo representante
+     */
+    public boolean conectados(int a, int b) {
+        return buscar(a) == buscar(b);
+    }
+
+    /**
+     * Devuelve la cantidad de elementos del conjunto al que pertenece un
+     * elemento.
+     *
+     * @param x identificador del elemento
+     * @return el tamaño de su conjunto
+     */
+    public int tamanio(int x) {
+        return tamanios[buscar(x)];
+    }
+
+    /**
+     * Indica la cantidad de elementos agregados.
+     *
+     * @return la cantidad de elementos
+     */
+    public int size() {
+        return elementos;
+    }
+
+    /**
+     * Indica la cantidad de conjuntos disjuntos.
+     *
+     * @return la cantidad de conjuntos
+     */
+    public int cantidadConjuntos() {
+        return conjuntos;
+    }
+
+    /**
+     * Elimina todos los elementos y conserva el espacio reservado.
+     */
+    public void clear() {
+        elementos = 0;
+        conjuntos = 0;
+    }
+
+}
@@ -0,0 +1,332 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caminos mínimos desde un origen con el algoritmo delta-stepping (Meyer y
+ * Sanders) sobre una instantánea {@link GrafoCSR}. Los vértices pendientes se
+ * agrupan en cubetas de ancho {@code delta} según su distancia provisional y
+ * las cubetas se resuelven en orden. Dentro de una cubeta, los arcos ligeros
+ * (peso menor o igual a {@code delta}) se relajan en paralelo una y otra vez
+ * hasta que la cubeta queda vacía; después se relajan, también en paralelo,
+ * los arcos pesados de todos los vértices que se resolvieron en ella.
+ *
+ * Las distancias se mejoran con operaciones CAS, así que al terminar son
+ * exactamente las mismas que calcula {@link Dijkstra}, sin importar el valor
+ * de {@code delta} ni la cantidad de hilos. Los predecesores se eligen al
+ * final con un recorrido en amplitud sobre los arcos que cumplen la igualdad
+ * de distancias, así que forman un árbol de caminos mínimos válido, aunque
+ * ante empates pueden ser otros que los de {@link Dijkstra}.
+ *
+ * Un {@code delta} pequeño se parece a Dijkstra, con poco trabajo repetido y
+ * poco paralelismo; uno grande se parece a Bellman-Ford, con mucho
+ * paralelismo y más relajaciones repetidas.
+ *
+ * @author Michael González
+ */
+public final class DeltaStepping {
+
+    /**
+     * Cantidad mínima de vértices de la frontera que se le asigna a cada
+     * trozo. Por debajo de este tamaño no compensa repartir el trabajo.
+     */
+    private static final int TROZO_MINIMO = 256;
+
+    private final GrafoCSR grafo;
+    private final int delta;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     * @param delta ancho de las cubetas
+     */
+    public DeltaStepping(GrafoCSR grafo, int delta) {
+        this(grafo, delta, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea del grafo
+     * @param delta ancho de las cubetas
+     * @param pool hilos entre los que se reparten las relajaciones
+     * @throws IllegalArgumentException si delta no es positivo o el grafo
+     * tiene pesos negativos
+     */
+    public DeltaStepping(GrafoCSR grafo, int delta, ForkJoinPool pool) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta debe ser positivo");
+        }
+        for (int peso : grafo.pesos) {
+            if (peso < 0) {
+                throw new IllegalArgumentException("Delta-stepping no admite pesos negativos: " + peso);
+            }
+        }
+        this.grafo = grafo;
+        this.delta = delta;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula los caminos mínimos desde el origen hasta todos los vértices.
+     *
+     * @param origen identificador del vértice de origen
+     * @return Las distancias y los predecesores de todos los vértices.
+     */
+    public CaminosMinimos desde(int origen) {
+        return new Ejecucion().ejecutar(origen);
+    }
+
+    /**
+     * Estado de un cálculo. Cada llamada a {@link #desde(int)} crea el suyo.
+     */
+    private final class Ejecucion {
+
+        private final AtomicLongArray distancias;
+        private final TreeMap<Long, PilaEnteros> cubetas;
+        /**
+         * Ronda de relajación ligera en la que cada vértice entró por última
+         * vez a la frontera. Evita procesar dos veces un vértice repetido en
+         * la cubeta.
+         */
+        private final int[] rondaFrontera;
+        /**
+         * Cubeta en la que cada vértice se agregó por última vez a los
+         * resueltos.
+         */
+        private final int[] cubetaResuelto;
+        private int ronda;
+        private int cubeta;
+
+        Ejecucion() {
+            int n = grafo.cantidadVertices();
+            this.distancias = new AtomicLongArray(n);
+            for (int v = 0; v < n; v++) {
+                distancias.lazySet(v, CaminosMinimos.INFINITO);
+            }
+            this.cubetas = new TreeMap<>();
+            this.rondaFrontera = new int[n];
+            this.cubetaResuelto = new int[n];
+        }
+
+        CaminosMinimos ejecutar(int origen) {
+            distancias.set(origen, 0);
+            agregar(origen);
+            while (!cubetas.isEmpty()) {
+                Map.Entry<Long, PilaEnteros> primera = cubetas.pollFirstEntry();
+                long indice = primera.getKey();
+                cubeta++;
+                PilaEnteros resueltos = new PilaEnteros();
+                PilaEnteros pendientes = primera.getValue();
+                while (pendientes != null) {
+                    ronda++;
+                    relajar(frontera(pendientes, indice, resueltos), true);
+                    pendientes = cubetas.remove(indice);
+                }
+                relajar(aArreglo(resueltos), false);
+            }
+            int n = grafo.cantidadVertices();
+            long[] resultado = new long[n];
+            for (int v = 0; v < n; v++) {
+                resultado[v] = distancias.get(v);
+            }
+            return new CaminosMinimos(origen, resultado, predecesores(origen, resultado));
+        }
+
+        /**
+         * Agrega un vértice a la cubeta que le corresponde según su distancia
+         * actual.
+         *
+         * @param v identificador del vértice
+         */
+        private void agregar(int v) {
+            long indice = distancias.get(v) / delta;
+            PilaEnteros destino = cubetas.get(indice);
+            if (destino == null) {
+                destino = new PilaEnteros();
+                cubetas.put(indice, destino);
+            }
+            destino.push(v);
+        }
+
+        /**
+         * Arma la frontera de una ronda con los vértices de la cubeta que
+         * siguen perteneciendo a ella, sin repetirlos, y los anota como
+         * resueltos en la cubeta actual.
+         *
+         * @param pendientes vértices agregados a la cubeta
+         * @param indice número de la cubeta
+         * @param resueltos vértices resueltos en la cubeta actual
+         * @return los vértices de la frontera
+         */
+        private int[] frontera(PilaEnteros pendientes, long indice, PilaEnteros resueltos) {
+            int[] frontera = new int[pendientes.size()];
+            int tamanio = 0;
+            while (!pendientes.isEmpty()) {
+                int v = pendientes.pop();
+                if (rondaFrontera[v] != ronda && distancias.get(v) / delta == indice) {
+                    rondaFrontera[v] = ronda;
+                    frontera[tamanio++] = v;
+                    if (cubetaResuelto[v] != cubeta) {
+                        cubetaResuelto[v] = cubeta;
+                        resueltos.push(v);
+                    }
+                }
+            }
+            return Arrays.copyOf(frontera, tamanio);
+        }
+
+        private int[] aArreglo(PilaEnteros pila) {
+            int[] arreglo = new int[pila.size()];
+            for (int i = 0; i < arreglo.length; i++) {
+                arreglo[i] = pila.get(i);
+            }
+            return arreglo;
+        }
+
+        /**
+         * Relaja en paralelo los arcos ligeros o pesados de los vértices
+         * indicados y agrega a su cubeta los vértices que mejoraron.
+         *
+         * @param vertices vértices cuyos arcos se relajan
+         * @param ligeros verdadero para los arcos con peso hasta delta; falso
+         * para los de peso mayor
+         */
+        private void relajar(int[] vertices, boolean ligeros) {
+            if (vertices.length == 0) {
+                return;
+            }
+            int cantidadTrozos = Math.max(1, Math.min(pool.getParallelism() * 4, vertices.length / TROZO_MINIMO));
+            PilaEnteros[] mejorados = new PilaEnteros[cantidadTrozos];
+            for (int t = 0; t < cantidadTrozos; t++) {
+                mejorados[t] = new PilaEnteros();
+            }
+            Relajacion tarea = new Relajacion(vertices, ligeros, mejorados, 0, cantidadTrozos);
+            if (cantidadTrozos == 1) {
+                tarea.compute();
+            } else {
+                pool.invoke(tarea);
+            }
+            for (PilaEnteros trozo : mejorados) {
+                while (!trozo.isEmpty()) {
+                    agregar(trozo.pop());
+                }
+            }
+        }
+
+        /**
+         * Relaja los arcos de un rango de vértices. Una mejora se publica con
+         * CAS para que, si dos hilos mejoran el mismo vértice, gane la menor
+         * distancia.
+         *
+         * @param vertices vértices de la frontera
+         * @param desde primera posición del rango
+         * @param hasta posición siguiente a la última del rango
+         * @param ligeros qué clase de arcos se relajan
+         * @param mejorados donde se anotan los vértices que mejoraron
+         */
+        private void relajar(int[] vertices, int desde, int hasta, boolean ligeros, PilaEnteros mejorados) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            int[] pesos = grafo.pesos;
+            for (int i = desde; i < hasta; i++) {
+                int u = vertices[i];
+                long distanciaU = distancias.get(u);
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int peso = pesos[arco];
+                    if ((peso <= delta) != ligeros) {
+                        continue;
+                    }
+                    int v = destinos[arco];
+                    long nueva = distanciaU + peso;
+                    long actual = distancias.get(v);
+                    while (nueva < actual) {
+                        if (distancias.compareAndSet(v, actual, nueva)) {
+                            mejorados.push(v);
+                            break;
+                        }
+                        actual = distancias.get(v);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Elige el predecesor de cada vértice con un recorrido en amplitud
+         * desde el origen que solo avanza por arcos donde la distancia del
+         * destino es la del origen más el peso. Así se evitan ciclos aunque
+         * haya aristas de peso cero.
+         *
+         * @param origen identificador del vértice de origen
+         * @param distancias distancias finales
+         * @return el predecesor de cada vértice
+         */
+        private int[] predecesores(int origen, long[] distancias) {
+            int n = grafo.cantidadVertices();
+            int[] predecesores = new int[n];
+            Arrays.fill(predecesores, -1);
+            BitSet visitados = new BitSet(n);
+            ColaEnteros cola = new ColaEnteros();
+            visitados.set(origen);
+            cola.queue(origen);
+            while (!cola.isEmpty()) {
+                int u = cola.pop();
+                for (int arco = grafo.desplazamientos[u]; arco < grafo.desplazamientos[u + 1]; arco++) {
+                    int v = grafo.destinos[arco];
+                    if (!visitados.get(v) && distancias[u] + grafo.pesos[arco] == distancias[v]) {
+                        visitados.set(v);
+                        predecesores[v] = u;
+                        cola.queue(v);
+                    }
+                }
+            }
+            return predecesores;
+        }
+
+        /**
+         * Tarea que reparte una relajación entre los trozos de la frontera,
+         * dividiendo el rango a la mitad hasta llegar a un solo trozo.
+         */
+        private final class Relajacion extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+            private final int[] vertices;
+            private final boolean ligeros;
+            private final PilaEnteros[] mejorados;
+            private final int desde;
+            private final int hasta;
+
+            Relajacion(int[] vertices, boolean ligeros, PilaEnteros[] mejorados, int desde, int hasta) {
+                this.vertices = vertices;
+                this.ligeros = ligeros;
+                this.mejorados = mejorados;
+                this.desde = desde;
+                this.hasta = hasta;
+            }
+
+            @Override
+            protected void compute() {
+                if (hasta - desde == 1) {
+                    int inicio = (int) ((long) vertices.length * desde / mejorados.length);
+                    int fin = (int) ((long) vertices.length * hasta / mejorados.length);
+                    relajar(vertices, inicio, fin, ligeros, mejorados[desde]);
+                } else {
+                    int medio = (desde + hasta) >>> 1;
+                    invokeAll(new Relajacion(vertices, ligeros, mejorados, desde, medio),
+                            new Relajacion(vertices, ligeros, mejorados, medio, hasta));
+                }
+            }
+
+        }
+
+    }
+
+}
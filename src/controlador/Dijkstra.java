@@ -0,0 +1,97 @@
+package controlador;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmo de Dijkstra sobre una instantánea {@link GrafoCSR}, usando como
+ * coste de cada arco el peso de su arista. La cola de prioridad es un
+ * {@link MonticuloIndexado}, así que cada vértice está una sola vez en ella y
+ * mejorar su distancia es una operación de disminuir clave. Los pesos deben
+ * ser no negativos.
+ *
+ * @author Michael González
+ */
+public final class Dijkstra {
+
+    private final GrafoCSR grafo;
+
+    /**
+     * Constructor que recibe la instantánea sobre la que se calculan los
+     * caminos.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public Dijkstra(GrafoCSR grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Calcula los caminos mínimos desde el origen hasta todos los vértices.
+     *
+     * @param origen identificador del vértice de origen
+     * @return Las distancias y los predecesores de todos los vértices.
+     * @throws IllegalArgumentException si se encuentra un peso negativo
+     */
+    public CaminosMinimos desde(int origen) {
+        return ejecutar(origen, -1);
+    }
+
+    /**
+     * Calcula el camino mínimo entre dos vértices. La búsqueda se detiene en
+     * cuanto el destino sale del montículo, de modo que solo quedan resueltos
+     * los vértices más cercanos al origen que el destino.
+     *
+     * @param origen identificador del vértice de origen
+     * @param destino identificador del vértice de destino
+     * @return Las distancias y los predecesores calculados hasta llegar al
+     * destino; {@link CaminosMinimos#camino(int)} reconstruye el camino.
+     * @throws IllegalArgumentException si se encuentra un peso negativo
+     */
+    public CaminosMinimos entre(int origen, int destino) {
+        return ejecutar(origen, destino);
+    }
+
+    /**
+     * Ejecuta el algoritmo desde el origen.
+     *
+     * @param origen identificador del vértice de origen
+     * @param destino vértice en el que se puede detener la búsqueda; -1 para
+     * resolver todo el grafo
+     * @return Las distancias y los predecesores calculados.
+     */
+    private CaminosMinimos ejecutar(int origen, int destino) {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int[] pesos = grafo.pesos;
+        long[] distancias = new long[n];
+        int[] predecesores = new int[n];
+        Arrays.fill(distancias, CaminosMinimos.INFINITO);
+        Arrays.fill(predecesores, -1);
+        MonticuloIndexado monticulo = new MonticuloIndexado(n);
+        distancias[origen] = 0;
+        monticulo.insertarODisminuir(origen, 0);
+        while (!monticulo.isEmpty()) {
+            int u = monticulo.pop();
+            if (u == destino) {
+                break;
+            }
+            long distanciaU = distancias[u];
+            for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                int peso = pesos[arco];
+                if (peso < 0) {
+                    throw new IllegalArgumentException("Dijkstra no admite pesos negativos: " + peso);
+                }
+                int v = destinos[arco];
+                long nueva = distanciaU + peso;
+                if (nueva < distancias[v]) {
+                    distancias[v] = nueva;
+                    predecesores[v] = u;
+                    monticulo.insertarODisminuir(v, nueva);
+                }
+            }
+        }
+        return new CaminosMinimos(origen, distancias, predecesores);
+    }
+
+}
@@ -0,0 +1,64 @@
+package controlador;
+
+import java.util.BitSet;
+
+/**
+ * Estado de trabajo de un recorrido: los vértices visitados, la cola y la
+ * pila de identificadores, y el cursor de adyacencia de cada vértice que está
+ * en la pila. Un mismo espacio se puede pasar a varios recorridos
+ * sucesivos para que, una vez que sus arreglos alcanzan el tamaño del grafo,
+ * los recorridos no reserven más memoria. Un espacio no se debe compartir
+ * entre recorridos que se ejecuten al mismo tiempo.
+ *
+ * @author Michael González
+ * @see Recorrido
+ */
+public final class EspacioRecorrido {
+
+    final BitSet visitados;
+    final ColaEnteros cola;
+    final PilaEnteros pila;
+    /**
+     * Siguiente arco por revisar de cada vértice apilado en un recorrido en
+     * profundidad. Un vértice solo se apila una vez, así que basta un cursor
+     * por vértice.
+     */
+    private int[] cursores;
+
+    /**
+     * Constructor que crea un espacio vacío. Sus estructuras crecen con el
+     * primer recorrido que lo use.
+     */
+    public EspacioRecorrido() {
+        this.visitados = new BitSet();
+        this.cola = new ColaEnteros();
+        this.pila = new PilaEnteros();
+        this.cursores = new int[0];
+    }
+
+    /**
+     * Deja el espacio listo para un nuevo recorrido, sin soltar la memoria
+     * reservada por los anteriores.
+     */
+    void preparar() {
+        visitados.clear();
+        cola.clear();
+        pila.clear();
+    }
+
+    /**
+     * Devuelve el arreglo de cursores, agrandado si hace falta para la
+     * cantidad de vértices indicada. Sus valores se asignan al apilar cada
+     * vértice, por lo que no necesita limpiarse.
+     *
+     * @param cantidadVertices número de vértices del grafo
+     * @return arreglo con al menos esa cantidad de posiciones
+     */
+    int[] cursores(int cantidadVertices) {
+        if (cursores.length < cantidadVertices) {
+            cursores = new int[cantidadVertices];
+        }
+        return cursores;
+    }
+
+}
@@ -0,0 +1,246 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import modelo.Arista;
+
+/**
+ * Bosque de expansión mínima de una instantánea {@link GrafoCSR}, usando como
+ * coste el peso de las aristas. Ofrece tres estrategias: Kruskal, Prim y
+ * Borůvka en paralelo.
+ *
+ * Las aristas se comparan por peso y, a igual peso, por un identificador
+ * propio de cada arista (el menor de sus dos arcos). Con ese orden total el
+ * bosque mínimo es único, así que las tres estrategias eligen exactamente las
+ * mismas aristas. Además, Borůvka lo necesita para no formar ciclos cuando
+ * hay pesos repetidos.
+ *
+ * @author Michael González
+ */
+public final class ExpansionMinima {
+
+    /**
+     * Cantidad mínima de vértices que se le asigna a cada tarea de Borůvka.
+     */
+    private static final int TROZO_MINIMO = 4096;
+    /**
+     * Clave de una componente que todavía no tiene arista candidata.
+     */
+    private static final long SIN_ARISTA = Long.MAX_VALUE;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+    /**
+     * Arco que recorre la misma arista que cada arco en sentido contrario.
+     */
+    private final int[] gemelos;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual para Borůvka.
+     *
+     * @param grafo instantánea del grafo
+     * @throws IllegalArgumentException si el grafo es dirigido
+     */
+    public ExpansionMinima(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado para Borůvka.
+     *
+     * @param grafo instantánea del grafo
+     * @param pool hilos entre los que se reparten los vértices
+     * @throws IllegalArgumentException si el grafo es dirigido
+     */
+    public ExpansionMinima(GrafoCSR grafo, ForkJoinPool pool) {
+        if (grafo.esDirigido()) {
+            throw new IllegalArgumentException("La expansión mínima requiere un grafo no dirigido");
+        }
+        this.grafo = grafo;
+        this.pool = pool;
+        this.gemelos = grafo.gemelos();
+    }
+
+    /**
+     * Calcula el bosque con Kruskal: ordena las aristas por clave en un
+     * arreglo de {@code long} y las agrega en ese orden mientras unan dos
+     * árboles distintos de un {@link ConjuntosDisjuntos}.
+     *
+     * @return El bosque de expansión mínima.
+     */
+    public BosqueExpansion kruskal() {
+        int n = grafo.cantidadVertices();
+        int[] destinos = grafo.destinos;
+        long[] claves = new long[destinos.length / 2];
+        int cantidad = 0;
+        for (int arco = 0; arco < destinos.length; arco++) {
+            if (arco < gemelos[arco]) {
+                claves[cantidad++] = clave(arco);
+            }
+        }
+        Arrays.sort(claves, 0, cantidad);
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(n);
+        for (int v = 0; v < n; v++) {
+            conjuntos.agregar();
+        }
+        Lista<Arista> elegidas = new Lista<>();
+        long peso = 0;
+        for (int i = 0; i < cantidad && elegidas.size() < n - 1; i++) {
+            int arco = (int) claves[i];
+            if (conjuntos.unir(destinos[gemelos[arco]], destinos[arco])) {
+                elegidas.add(grafo.getArista(arco));
+                peso += grafo.pesos[arco];
+            }
+        }
+        return new BosqueExpansion(peso, elegidas, n - elegidas.size());
+    }
+
+    /**
+     * Calcula el bosque con Prim: hace crecer un árbol desde cada vértice que
+     * todavía no está en ninguno, sacando de un {@link MonticuloIndexado} el
+     * vértice que se une al árbol con la arista de menor clave.
+     *
+     * @return El bosque de expansión mínima.
+     */
+    public BosqueExpansion prim() {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        BitSet enArbol = new BitSet(n);
+        MonticuloIndexado monticulo = new MonticuloIndexado(n);
+        //Arco por el que cada vértice se uniría a su árbol
+        int[] entradas = new int[n];
+        Lista<Arista> elegidas = new Lista<>();
+        long peso = 0;
+        int arboles = 0;
+        for (int raiz = enArbol.nextClearBit(0); raiz < n; raiz = enArbol.nextClearBit(raiz + 1)) {
+            arboles++;
+            entradas[raiz] = -1;
+            monticulo.insertarODisminuir(raiz, Long.MIN_VALUE);
+            while (!monticulo.isEmpty()) {
+                int u = monticulo.pop();
+                enArbol.set(u);
+                if (entradas[u] >= 0) {
+                    elegidas.add(grafo.getArista(entradas[u]));
+                    peso += grafo.pesos[entradas[u]];
+                }
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int v = destinos[arco];
+                    if (!enArbol.get(v) && monticulo.insertarODisminuir(v, clave(arco))) {
+                        entradas[v] = arco;
+                    }
+                }
+            }
+        }
+        return new BosqueExpansion(peso, elegidas, arboles);
+    }
+
+    /**
+     * Calcula el bosque con Borůvka en paralelo. En cada ronda, los hilos
+     * recorren todos los vértices y cada componente se queda, con un CAS de
+     * mínimo sobre la clave, con la arista más liviana que sale de ella. Luego
+     * se agregan las aristas elegidas, se unen las componentes y se vuelve a
+     * etiquetar cada vértice en paralelo. Cada ronda al menos reduce a la
+     * mitad la cantidad de componentes que todavía tienen aristas hacia otras.
+     *
+     * @return El bosque de expansión mínima.
+     */
+    public BosqueExpansion boruvka() {
+        int n = grafo.cantidadVertices();
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        int[] componentes = new int[n];
+        AtomicLongArray mejores = new AtomicLongArray(n);
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int v = desde; v < hasta; v++) {
+                componentes[v] = v;
+                mejores.lazySet(v, SIN_ARISTA);
+            }
+        });
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(n);
+        for (int v = 0; v < n; v++) {
+            conjuntos.agregar();
+        }
+        int[] raices = new int[n];
+        for (int v = 0; v < n; v++) {
+            raices[v] = v;
+        }
+        int cantidadRaices = n;
+        int[] nuevasRaices = new int[n];
+        int[] etiquetas = new int[n];
+        Lista<Arista> elegidas = new Lista<>();
+        long peso = 0;
+        while (true) {
+            //Arista más liviana que sale de cada componente
+            RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+                for (int u = desde; u < hasta; u++) {
+                    int componente = componentes[u];
+                    long minimo = SIN_ARISTA;
+                    for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                        if (componentes[destinos[arco]] != componente) {
+                            minimo = Math.min(minimo, clave(arco));
+                        }
+                    }
+                    if (minimo != SIN_ARISTA) {
+                        long actual = mejores.get(componente);
+                        while (minimo < actual && !mejores.compareAndSet(componente, actual, minimo)) {
+                            actual = mejores.get(componente);
+                        }
+                    }
+                }
+            });
+            //Dos componentes pueden elegir la misma arista; la unión la cuenta una vez
+            boolean unidas = false;
+            for (int i = 0; i < cantidadRaices; i++) {
+                int raiz = raices[i];
+                long mejor = mejores.get(raiz);
+                if (mejor != SIN_ARISTA) {
+                    mejores.set(raiz, SIN_ARISTA);
+                    int arco = (int) mejor;
+                    if (conjuntos.unir(componentes[destinos[gemelos[arco]]], componentes[destinos[arco]])) {
+                        elegidas.add(grafo.getArista(arco));
+                        peso += grafo.pesos[arco];
+                        unidas = true;
+                    }
+                }
+            }
+            if (!unidas) {
+                break;
+            }
+            //Las raíces de los conjuntos son las nuevas etiquetas
+            int cantidadNuevas = 0;
+            for (int i = 0; i < cantidadRaices; i++) {
+                int raiz = raices[i];
+                etiquetas[raiz] = conjuntos.buscar(raiz);
+                if (etiquetas[raiz] == raiz) {
+                    nuevasRaices[cantidadNuevas++] = raiz;
+                }
+            }
+            RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+                for (int v = desde; v < hasta; v++) {
+                    componentes[v] = etiquetas[componentes[v]];
+                }
+            });
+            int[] temporal = raices;
+            raices = nuevasRaices;
+            nuevasRaices = temporal;
+            cantidadRaices = cantidadNuevas;
+        }
+        return new BosqueExpansion(peso, elegidas, n - elegidas.size());
+    }
+
+    /**
+     * Arma la clave con la que se compara la arista de un arco: el peso en
+     * los 32 bits altos y el identificador de la arista en los bajos. Los dos
+     * arcos de una arista tienen la misma clave.
+     *
+     * @param arco posición del arco
+     * @return la clave de su arista
+     */
+    private long clave(int arco) {
+        return ((long) grafo.pesos[arco] << 32) | Math.min(arco, gemelos[arco]);
+    }
+
+}
@@ -0,0 +1,385 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import modelo.Arista;
+import modelo.Vertice;
+
+/**
+ * Instantánea inmutable de un grafo en formato CSR (Compressed Sparse Row). Los
+ * vértices se numeran de forma densa desde cero y las adyacencias se guardan en
+ * arreglos primitivos: los vecinos del vértice {@code v} ocupan las posiciones
+ * {@code desplazamientos[v]} hasta {@code desplazamientos[v + 1] - 1} de los
+ * arreglos {@code destinos} y {@code pesos}. De esta forma los recorridos y
+ * los análisis pueden leer el grafo de forma secuencial en memoria y sin crear
+ * objetos en cada paso.
+ *
+ * En un grafo no dirigido cada arista aparece dos veces, una en la fila de
+ * cada uno de sus extremos, y los arcos de entrada de un vértice son los
+ * mismos de salida. En un grafo dirigido cada arista aparece una vez en la
+ * fila de su origen, y además se guardan las filas de entrada: los arcos que
+ * llegan al vértice {@code v} ocupan las posiciones
+ * {@code desplazamientosEntrada[v]} hasta
+ * {@code desplazamientosEntrada[v + 1] - 1} de {@code origenes} y
+ * {@code pesosEntrada}. Así los recorridos en sentido contrario y la búsqueda
+ * de abajo hacia arriba no tienen que revisar todas las aristas.
+ *
+ * @author Michael González
+ */
+public final class GrafoCSR {
+
+    /**
+     * Posición en la que comienza la fila de cada vértice. Tiene un elemento
+     * más que la cantidad de vértices para que la última fila también tenga
+     * fin.
+     */
+    final int[] desplazamientos;
+    /**
+     * Identificador del vértice al que llega cada arco.
+     */
+    final int[] destinos;
+    /**
+     * Peso de la arista de la que proviene cada arco.
+     */
+    final int[] pesos;
+    /**
+     * Arista del modelo de la que proviene cada arco.
+     */
+    private final Arista[] aristas;
+    /**
+     * Posición en la que comienza la fila de entrada de cada vértice. En un
+     * grafo no dirigido es el mismo arreglo que {@link #desplazamientos}.
+     */
+    final int[] desplazamientosEntrada;
+    /**
+     * Identificador del vértice del que sale cada arco de entrada. En un grafo
+     * no dirigido es el mismo arreglo que {@link #destinos}.
+     */
+    final int[] origenes;
+    /**
+     * Peso de la arista de la que proviene cada arco de entrada. En un grafo
+     * no dirigido es el mismo arreglo que {@link #pesos}.
+     */
+    final int[] pesosEntrada;
+    private final boolean dirigido;
+    /**
+     * Vértice del modelo que corresponde a cada identificador.
+     */
+    private final Vertice[] vertices;
+    /**
+     * Identificador que se le asignó a cada vértice del modelo.
+     */
+    private final HashMap<Vertice, Integer> identificadores;
+    /**
+     * Época del grafo en la que se tomó la instantánea.
+     */
+    final long epoca;
+
+    /**
+     * Construye la instantánea a partir de la lista de vértices de un grafo. El
+     * identificador de cada vértice es su posición en la lista.
+     *
+     * @param listaVertices vértices del grafo, con sus aristas enlazadas
+     * @param dirigido verdadero si cada arista solo va de su origen a su
+     * destino
+     * @param epoca época del grafo en el momento de tomar la instantánea
+     */
+    GrafoCSR(Lista<Vertice> listaVertices, boolean dirigido, long epoca) {
+        int n = listaVertices.size();
+        this.dirigido = dirigido;
+        this.epoca = epoca;
+        this.vertices = new Vertice[n];
+        this.identificadores = new HashMap<>(n * 4 / 3 + 1);
+        this.desplazamientos = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            Vertice v = listaVertices.get(i);
+            vertices[i] = v;
+            identificadores.put(v, i);
+            int grado = dirigido ? v.gradoSalida() : v.tamanioEnlaces();
+            desplazamientos[i + 1] = desplazamientos[i] + grado;
+        }
+        this.destinos = new int[desplazamientos[n]];
+        this.pesos = new int[desplazamientos[n]];
+        this.aristas = new Arista[desplazamientos[n]];
+        for (int i = 0; i < n; i++) {
+            Vertice v = vertices[i];
+            int posicion = desplazamientos[i];
+            int grado = dirigido ? v.gradoSalida() : v.tamanioEnlaces();
+            for (int j = 0; j < grado; j++) {
+                Arista arista = dirigido ? v.getSaliente(j) : v.getArista(j);
+                destinos[posicion] = identificadorExtremo(arista.getAdyacente(v));
+                pesos[posicion] = arista.getPeso();
+                aristas[posicion] = arista;
+                posicion++;
+            }
+        }
+        if (!dirigido) {
+            this.desplazamientosEntrada = desplazamientos;
+            this.origenes = destinos;
+            this.pesosEntrada = pesos;
+            return;
+        }
+        this.desplazamientosEntrada = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            desplazamientosEntrada[i + 1] = desplazamientosEntrada[i] + vertices[i].gradoEntrada();
+        }
+        this.origenes = new int[desplazamientosEntrada[n]];
+        this.pesosEntrada = new int[desplazamientosEntrada[n]];
+        for (int i = 0; i < n; i++) {
+            Vertice v = vertices[i];
+            int posicion = desplazamientosEntrada[i];
+            for (int j = 0; j < v.gradoEntrada(); j++) {
+                Arista arista = v.getEntrante(j);
+                origenes[posicion] = identificadorExtremo(arista.getOrigen());
+                pesosEntrada[posicion] = arista.getPeso();
+                posicion++;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el identificador del extremo de una arista mientras se
+     * construye la instantánea.
+     *
+     * @param extremo vértice en el que termina la arista
+     * @return su identificador
+     * @throws IllegalStateException si el vértice no está en la lista de
+     * vértices del grafo
+     */
+    private int identificadorExtremo(Vertice extremo) {
+        Integer id = identificadores.get(extremo);
+        if (id == null) {
+            throw new IllegalStateException("Una arista llega al vértice " + extremo.getDato() + ", que no pertenece al grafo");
+        }
+        return id;
+    }
+
+    /**
+     * Devuelve la cantidad de vértices de la instantánea.
+     *
+     * @return número de vértices
+     */
+    public int cantidadVertices() {
+        return vertices.length;
+    }
+
+    /**
+     * Devuelve la cantidad de arcos almacenados. En un grafo no dirigido es el
+     * doble de la cantidad de aristas; en uno dirigido, la misma cantidad.
+     *
+     * @return número de arcos
+     */
+    public int cantidadArcos() {
+        return destinos.length;
+    }
+
+    /**
+     * Indica si la instantánea proviene de un grafo dirigido.
+     *
+     * @return verdadero si cada arista solo va de su origen a su destino
+     */
+    public boolean esDirigido() {
+        return dirigido;
+    }
+
+    /**
+     * Devuelve la época del grafo en la que se tomó la instantánea. Mientras
+     * el grafo tenga esa misma época, la instantánea está al día.
+     *
+     * @return la época de la instantánea
+     * @see ListaAdyacencia#getEpoca()
+     */
+    public long getEpoca() {
+        return epoca;
+    }
+
+    /**
+     * Devuelve el grado del vértice indicado.
+     *
+     * @param v identificador del vértice
+     * @return cantidad de arcos que salen del vértice
+     */
+    public int grado(int v) {
+        return desplazamientos[v + 1] - desplazamientos[v];
+    }
+
+    /**
+     * Posición del primer arco del vértice indicado.
+     *
+     * @param v identificador del vértice
+     * @return índice del primer arco de la fila
+     */
+    public int inicio(int v) {
+        return desplazamientos[v];
+    }
+
+    /**
+     * Posición siguiente al último arco del vértice indicado.
+     *
+     * @param v identificador del vértice
+     * @return índice en el que termina la fila, sin incluirlo
+     */
+    public int fin(int v) {
+        return desplazamientos[v + 1];
+    }
+
+    /**
+     * Devuelve el vértice al que llega el arco indicado.
+     *
+     * @param arco índice del arco
+     * @return identificador del vértice destino
+     */
+    public int destino(int arco) {
+        return destinos[arco];
+    }
+
+    /**
+     * Devuelve el peso del arco indicado.
+     *
+     * @param arco índice del arco
+     * @return peso de la arista correspondiente
+     */
+    public int peso(int arco) {
+        return pesos[arco];
+    }
+
+    /**
+     * Devuelve el grado de entrada del vértice indicado. En un grafo no
+     * dirigido es igual a {@link #grado(int)}.
+     *
+     * @param v identificador del vértice
+     * @return cantidad de arcos que llegan al vértice
+     */
+    public int gradoEntrada(int v) {
+        return desplazamientosEntrada[v + 1] - desplazamientosEntrada[v];
+    }
+
+    /**
+     * Posición del primer arco de entrada del vértice indicado.
+     *
+     * @param v identificador del vértice
+     * @return índice del primer arco de la fila de entrada
+     */
+    public int inicioEntrada(int v) {
+        return desplazamientosEntrada[v];
+    }
+
+    /**
+     * Posición siguiente al último arco de entrada del vértice indicado.
+     *
+     * @param v identificador del vértice
+     * @return índice en el que termina la fila de entrada, sin incluirlo
+     */
+    public int finEntrada(int v) {
+        return desplazamientosEntrada[v + 1];
+    }
+
+    /**
+     * Devuelve el vértice del que sale el arco de entrada indicado.
+     *
+     * @param arcoEntrada índice del arco en las filas de entrada
+     * @return identificador del vértice origen
+     */
+    public int origen(int arcoEntrada) {
+        return origenes[arcoEntrada];
+    }
+
+    /**
+     * Devuelve el peso del arco de entrada indicado.
+     *
+     * @param arcoEntrada índice del arco en las filas de entrada
+     * @return peso de la arista correspondiente
+     */
+    public int pesoEntrada(int arcoEntrada) {
+        return pesosEntrada[arcoEntrada];
+    }
+
+    /**
+     * Devuelve la arista del modelo de la que proviene un arco.
+     *
+     * @param arco posición del arco
+     * @return la arista correspondiente; los dos arcos de una arista
+     * devuelven la misma
+     */
+    public Arista getArista(int arco) {
+        return aristas[arco];
+    }
+
+    /**
+     * Devuelve el vértice del modelo que corresponde a un identificador.
+     *
+     * @param id identificador del vértice
+     * @return el vértice correspondiente
+     */
+    public Vertice getVertice(int id) {
+        return vertices[id];
+    }
+
+    /**
+     * Devuelve el identificador que tiene un vértice en la instantánea.
+     *
+     * @param vertice vértice del modelo
+     * @return su identificador, o -1 si el vértice no estaba en el grafo cuando
+     * se tomó la instantánea
+     */
+    public int getId(Vertice vertice) {
+        Integer id = identificadores.get(vertice);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Calcula, para cada arco, la posición del arco que recorre la misma
+     * arista en sentido contrario. Ordena los arcos por origen y destino con
+     * dos pasadas de conteo, sin comparar ni usar tablas hash, y empareja la
+     * fila de cada vértice con los arcos que llegan a él. Supone que no hay
+     * aristas repetidas, lo que {@link ListaAdyacencia} garantiza.
+     *
+     * @return el arco gemelo de cada arco
+     * @throws IllegalStateException si el grafo es dirigido
+     */
+    int[] gemelos() {
+        if (dirigido) {
+            throw new IllegalStateException("Un grafo dirigido no tiene arcos gemelos");
+        }
+        int n = vertices.length;
+        int m = destinos.length;
+        //Arcos agrupados por destino; cada grupo queda ordenado por origen
+        int[] entrantes = new int[m];
+        int[] origenes = new int[m];
+        int[] cursores = Arrays.copyOf(desplazamientos, n);
+        for (int u = 0; u < n; u++) {
+            for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                int posicion = cursores[destinos[arco]]++;
+                entrantes[posicion] = arco;
+                origenes[posicion] = u;
+            }
+        }
+        //Arcos agrupados por origen; cada grupo queda ordenado por destino
+        int[] salientes = new int[m];
+        System.arraycopy(desplazamientos, 0, cursores, 0, n);
+        for (int i = 0; i < m; i++) {
+            salientes[cursores[origenes[i]]++] = entrantes[i];
+        }
+        int[] gemelos = new int[m];
+        for (int i = 0; i < m; i++) {
+            gemelos[entrantes[i]] = salientes[i];
+        }
+        return gemelos;
+    }
+
+    /**
+     * Convierte una secuencia de identificadores en la lista de vértices
+     * correspondiente.
+     *
+     * @param ids identificadores de la instantánea
+     * @return Lista con los vértices, en el mismo orden.
+     */
+    Lista<Vertice> aVertices(int[] ids) {
+        Lista<Vertice> lista = new Lista<>(ids.length);
+        for (int id : ids) {
+            lista.add(vertices[id]);
+        }
+        return lista;
+    }
+
+}
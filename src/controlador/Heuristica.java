@@ -0,0 +1,32 @@
+package controlador;
+
+import modelo.Vertice;
+
+/**
+ * Estimación de la distancia que falta desde un vértice hasta el destino de
+ * una búsqueda A*. Para que el camino encontrado sea mínimo, la estimación no
+ * debe superar nunca la distancia real; si además cumple la desigualdad
+ * triangular, ningún vértice se explora más de una vez.
+ *
+ * @author Michael González
+ * @see BusquedaPuntoAPunto#aEstrella(int, int, Heuristica)
+ */
+public interface Heuristica {
+
+    /**
+     * Heurística que siempre estima cero. Con ella A* explora lo mismo que
+     * Dijkstra.
+     */
+    Heuristica NULA = (actual, destino) -> 0;
+
+    /**
+     * Estima la distancia que falta para llegar al destino.
+     *
+     * @param actual vértice desde el que se estima
+     * @param destino vértice al que se quiere llegar
+     * @return una cota inferior, no negativa, de la suma de pesos del camino
+     * mínimo entre los dos vértices
+     */
+    long estimar(Vertice actual, Vertice destino);
+
+}
@@ -0,0 +1,662 @@
+package controlador;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import modelo.Vertice;
+
+/**
+ * Carga masiva de aristas en una {@link ListaAdyacencia} desde un archivo de
+ * texto, sin pedir los vértices y las aristas uno por uno.
+ *
+ * El archivo se lee en bloques con un {@link FileChannel} y las líneas se
+ * separan y se interpretan directamente sobre los bytes del bloque, sin crear
+ * una cadena por línea ni por campo. Cada nombre de vértice se resuelve con
+ * un índice hash propio sobre los bytes del nombre, así que solo se crea una
+ * cadena la primera vez que aparece cada vértice. Las aristas se acumulan en
+ * lotes que se insertan con
+ * {@link ListaAdyacencia#insertarAristas(Vertice[], Vertice[], int[], int)}.
+ * Además del grafo, la memoria que se usa es la del bloque, la del lote y la
+ * del índice de nombres, que es proporcional a la cantidad de vértices.
+ *
+ * Se admiten dos formatos, ambos con una entrada por línea:
+ * <ul>
+ * <li>{@link Formato#ARISTAS}: origen, destino y, opcionalmente, un peso
+ * entero. Sin peso, la arista pesa 1.</li>
+ * <li>{@link Formato#ADYACENCIA}: un vértice seguido de todos sus vecinos.
+ * Las aristas pesan 1, y un vértice sin vecinos se crea aislado.</li>
+ * </ul>
+ *
+ * Los campos se separan con tabulador, coma, punto y coma o espacios; si no
+ * se indica el separador, se toma el de la primera línea con datos. Con
+ * espacios, varios seguidos cuentan como uno; con los demás separadores se
+ * quitan los espacios alrededor de cada campo, y también los tabuladores si
+ * el separador no es el tabulador. No se admiten campos entre
+ * comillas. Se saltan las líneas vacías, las que empiezan con {@code #} y las
+ * que no se pueden interpretar, que se cuentan en el resultado. Un campo vacío
+ * entre dos separadores conserva su posición: una línea sin origen o sin
+ * destino es inválida, un peso vacío vale 1 y en el formato de adyacencia se
+ * ignoran los vecinos vacíos. El texto se lee como UTF-8.
+ *
+ * @author Michael González
+ */
+public final class ImportadorAristas {
+
+    /**
+     * Formato de las líneas del archivo.
+     */
+    public enum Formato {
+        /**
+         * Una arista por línea: origen, destino y peso opcional.
+         */
+        ARISTAS,
+        /**
+         * Un vértice por línea seguido de sus vecinos.
+         */
+        ADYACENCIA
+    }
+
+    /**
+     * Cantidad de aristas por lote que se usa si no se indica otra.
+     */
+    public static final int TAMANIO_LOTE = 1 << 16;
+    /**
+     * Tamaño inicial del bloque de lectura. Crece si una línea no cabe.
+     */
+    private static final int TAMANIO_BLOQUE = 1 << 20;
+
+    private final ListaAdyacencia grafo;
+    private Formato formato = Formato.ARISTAS;
+    private char separador;
+    private boolean encabezado;
+    private int tamanioLote = TAMANIO_LOTE;
+    private ProgresoImportacion progreso;
+
+    /**
+     * Constructor que recibe el grafo en el que se insertan las aristas. Los
+     * vértices que ya existen en el grafo se reutilizan por su elemento.
+     *
+     * @param grafo grafo de destino
+     */
+    public ImportadorAristas(ListaAdyacencia grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Importa las aristas del archivo.
+     *
+     * @param archivo ruta del archivo
+     * @return el resumen de la importación
+     * @throws IOException si no se puede leer el archivo
+     */
+    public ResultadoImportacion importar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return new Lectura(canal).ejecutar();
+        }
+    }
+
+    //Getters
+    public Formato getFormato() {
+        return formato;
+    }
+
+    public void setFormato(Formato formato) {
+        this.formato = formato;
+    }
+
+    public char getSeparador() {
+        return separador;
+    }
+
+    /**
+     * Fija el separador de los campos.
+     *
+     * @param separador tabulador, coma, punto y coma o espacio; el carácter
+     * nulo para tomarlo de la primera línea con datos
+     * @throws IllegalArgumentException si no es uno de los separadores
+     * admitidos
+     */
+    public void setSeparador(char separador) {
+        if (separador != 0 && separador != '\t' && separador != ',' && separador != ';' && separador != ' ') {
+            throw new IllegalArgumentException("Separador no admitido: " + separador);
+        }
+        this.separador = separador;
+    }
+
+    public boolean getEncabezado() {
+        return encabezado;
+    }
+
+    /**
+     * Indica si la primera línea con datos es un encabezado que se debe
+     * saltar.
+     *
+     * @param encabezado verdadero si el archivo tiene encabezado
+     */
+    public void setEncabezado(boolean encabezado) {
+        this.encabezado = encabezado;
+    }
+
+    public int getTamanioLote() {
+        return tamanioLote;
+    }
+
+    /**
+     * Fija la cantidad de aristas que se acumulan antes de insertarlas.
+     *
+     * @param tamanioLote cantidad de aristas por lote
+     * @throws IllegalArgumentException si no es positiva
+     */
+    public void setTamanioLote(int tamanioLote) {
+        if (tamanioLote <= 0) {
+            throw new IllegalArgumentException("El tamaño del lote debe ser positivo");
+        }
+        this.tamanioLote = tamanioLote;
+    }
+
+    public ProgresoImportacion getProgreso() {
+        return progreso;
+    }
+
+    public void setProgreso(ProgresoImportacion progreso) {
+        this.progreso = progreso;
+    }
+    //End Getters
+
+    /**
+     * Estado de una importación: el bloque de lectura, el lote pendiente, el
+     * índice de nombres y los contadores.
+     */
+    private final class Lectura {
+
+        private final FileChannel canal;
+        private final long bytesTotales;
+        private final IndiceNombres indice = new IndiceNombres();
+        private final Vertice[] origenes = new Vertice[tamanioLote];
+        private final Vertice[] destinos = new Vertice[tamanioLote];
+        private final int[] pesos = new int[tamanioLote];
+        private int enLote;
+        private byte separadorActual = (byte) separador;
+        private boolean encabezadoPendiente = encabezado;
+        /**
+         * Posición en el archivo del comienzo del bloque actual.
+         */
+        private long base;
+        private boolean cancelada;
+        private long lineas;
+        private long lineasInvalidas;
+        private long aristasLeidas;
+        private long aristasInsertadas;
+        private int verticesNuevos;
+        /**
+         * Inicio y fin de cada campo de la línea en curso.
+         */
+        private int[] campos = new int[16];
+
+        Lectura(FileChannel canal) throws IOException {
+            this.canal = canal;
+            this.bytesTotales = canal.size();
+        }
+
+        /**
+         * Lee el archivo bloque por bloque. Las líneas completas de cada
+         * bloque se procesan y la línea que queda cortada al final se mueve
+         * al comienzo del bloque para completarla con la siguiente lectura.
+         * El avance se informa después de cada bloque, además de después de
+         * cada lote, para que un archivo con pocas aristas por byte también
+         * se pueda seguir y cancelar.
+         *
+         * @return el resumen de la importación
+         * @throws IOException si falla la lectura
+         */
+        ResultadoImportacion ejecutar() throws IOException {
+            ByteBuffer bloque = ByteBuffer.allocate(TAMANIO_BLOQUE);
+            boolean fin = false;
+            while (!fin && !cancelada) {
+                fin = canal.read(bloque) < 0;
+                byte[] datos = bloque.array();
+                int limite = bloque.position();
+                int inicio = 0;
+                for (int i = 0; i < limite && !cancelada; i++) {
+                    if (datos[i] == '\n') {
+                        linea(datos, inicio, i);
+                        inicio = i + 1;
+                    }
+                }
+                if (fin && inicio < limite && !cancelada) {
+                    linea(datos, inicio, limite);
+                    inicio = limite;
+                }
+                int resto = limite - inicio;
+                if (resto == datos.length) {
+                    //Una sola línea llena el bloque: se duplica
+                    ByteBuffer mayor = ByteBuffer.allocate(datos.length * 2);
+                    mayor.put(datos, 0, resto);
+                    bloque = mayor;
+                } else {
+                    System.arraycopy(datos, inicio, datos, 0, resto);
+                    bloque.position(resto);
+                }
+                base += inicio;
+                //Informa el avance también cuando no se llenan lotes
+                if (!fin && !cancelada && progreso != null
+                        && !progreso.avance(Math.min(base, bytesTotales), bytesTotales, aristasLeidas)) {
+                    cancelada = true;
+                }
+            }
+            if (!cancelada) {
+                vaciarLote(base);
+            }
+            return new ResultadoImportacion(lineas, lineasInvalidas, aristasLeidas, aristasInsertadas,
+                    verticesNuevos, !cancelada);
+        }
+
+        /**
+         * Interpreta una línea.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio de la línea
+         * @param hasta fin de la línea, sin el salto
+         */
+        private void linea(byte[] datos, int desde, int hasta) {
+            lineas++;
+            if (lineas == 1 && hasta - desde >= 3 && datos[desde] == (byte) 0xEF
+                    && datos[desde + 1] == (byte) 0xBB && datos[desde + 2] == (byte) 0xBF) {
+                desde += 3;
+            }
+            if (hasta > desde && datos[hasta - 1] == '\r') {
+                hasta--;
+            }
+            int primero = desde;
+            while (primero < hasta && esEspacio(datos[primero])) {
+                primero++;
+            }
+            if (primero == hasta || datos[primero] == '#') {
+                return;
+            }
+            if (separadorActual == 0) {
+                separadorActual = detectarSeparador(datos, desde, hasta);
+            }
+            //Con tabuladores, uno al comienzo separa un primer campo vacío
+            while (desde < hasta && esRelleno(datos[desde])) {
+                desde++;
+            }
+            if (encabezadoPendiente) {
+                encabezadoPendiente = false;
+                return;
+            }
+            int cantidad = separar(datos, desde, hasta);
+            if (formato == Formato.ARISTAS) {
+                aristas(datos, cantidad, hasta);
+            } else {
+                adyacencia(datos, cantidad, hasta);
+            }
+        }
+
+        /**
+         * Agrega la arista de una línea en formato de lista de aristas.
+         *
+         * @param datos bytes del bloque
+         * @param cantidad cantidad de campos de la línea
+         * @param fin posición de la línea, para el progreso
+         */
+        private void aristas(byte[] datos, int cantidad, int fin) {
+            if (cantidad < 2 || vacio(0) || vacio(1)) {
+                lineasInvalidas++;
+                return;
+            }
+            int peso = 1;
+            if (cantidad >= 3 && !vacio(2)) {
+                long valor = entero(datos, campos[4], campos[5]);
+                if (valor == Long.MIN_VALUE) {
+                    lineasInvalidas++;
+                    return;
+                }
+                peso = (int) valor;
+            }
+            Vertice origen = vertice(datos, campos[0], campos[1]);
+            Vertice destino = vertice(datos, campos[2], campos[3]);
+            agregar(origen, destino, peso, fin);
+        }
+
+        /**
+         * Agrega las aristas de una línea en formato de adyacencia.
+         *
+         * @param datos bytes del bloque
+         * @param cantidad cantidad de campos de la línea
+         * @param fin posición de la línea, para el progreso
+         */
+        private void adyacencia(byte[] datos, int cantidad, int fin) {
+            if (cantidad == 0 || vacio(0)) {
+                lineasInvalidas++;
+                return;
+            }
+            Vertice origen = vertice(datos, campos[0], campos[1]);
+            for (int c = 1; c < cantidad && !cancelada; c++) {
+                if (!vacio(c)) {
+                    agregar(origen, vertice(datos, campos[2 * c], campos[2 * c + 1]), 1, fin);
+                }
+            }
+        }
+
+        /**
+         * Indica si un campo de la línea en curso está vacío.
+         *
+         * @param c posición del campo
+         * @return verdadero si el campo no tiene caracteres
+         */
+        private boolean vacio(int c) {
+            return campos[2 * c] == campos[2 * c + 1];
+        }
+
+        /**
+         * Agrega una arista al lote y lo inserta si se llenó.
+         *
+         * @param origen vértice de origen
+         * @param destino vértice de destino
+         * @param peso peso de la arista
+         * @param fin posición en el bloque hasta la que se leyó
+         */
+        private void agregar(Vertice origen, Vertice destino, int peso, int fin) {
+            aristasLeidas++;
+            origenes[enLote] = origen;
+            destinos[enLote] = destino;
+            pesos[enLote] = peso;
+            enLote++;
+            if (enLote == tamanioLote) {
+                vaciarLote(base + fin);
+            }
+        }
+
+        /**
+         * Inserta el lote pendiente e informa el avance.
+         *
+         * @param bytesLeidos posición del archivo hasta la que se leyó
+         */
+        private void vaciarLote(long bytesLeidos) {
+            aristasInsertadas += grafo.insertarAristas(origenes, destinos, pesos, enLote);
+            enLote = 0;
+            if (progreso != null && !progreso.avance(Math.min(bytesLeidos, bytesTotales), bytesTotales, aristasLeidas)) {
+                cancelada = true;
+            }
+        }
+
+        /**
+         * Indica si un byte es relleno que se quita alrededor de un campo:
+         * un espacio o, si el separador no es el tabulador, también un
+         * tabulador.
+         *
+         * @param b byte a comprobar
+         * @return verdadero si es relleno
+         */
+        private boolean esRelleno(byte b) {
+            return b == ' ' || (b == '\t' && separadorActual != '\t');
+        }
+
+        /**
+         * Divide la línea en campos y guarda sus límites en
+         * {@link #campos}. Con un separador distinto del espacio, los campos
+         * vacíos se guardan también, salvo el que sigue a un separador al
+         * final de la línea.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio de la línea, sin relleno al comienzo
+         * @param hasta fin de la línea
+         * @return la cantidad de campos
+         */
+        private int separar(byte[] datos, int desde, int hasta) {
+            int cantidad = 0;
+            int i = desde;
+            while (i < hasta) {
+                int inicio = i;
+                if (separadorActual == ' ') {
+                    while (i < hasta && !esEspacio(datos[i])) {
+                        i++;
+                    }
+                } else {
+                    while (i < hasta && datos[i] != separadorActual) {
+                        i++;
+                    }
+                }
+                int fin = i;
+                while (inicio < fin && esRelleno(datos[inicio])) {
+                    inicio++;
+                }
+                while (fin > inicio && esRelleno(datos[fin - 1])) {
+                    fin--;
+                }
+                if (2 * cantidad + 2 > campos.length) {
+                    campos = Arrays.copyOf(campos, campos.length * 2);
+                }
+                campos[2 * cantidad] = inicio;
+                campos[2 * cantidad + 1] = fin;
+                cantidad++;
+                //Salta el separador; con espacios, todos los seguidos
+                i++;
+                while (separadorActual == ' ' && i < hasta && esEspacio(datos[i])) {
+                    i++;
+                }
+            }
+            return cantidad;
+        }
+
+        /**
+         * Busca el vértice de un nombre en el índice y, si no está, en el
+         * grafo; si tampoco existe allí, lo crea.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio del nombre
+         * @param hasta fin del nombre
+         * @return el vértice con ese nombre
+         */
+        private Vertice vertice(byte[] datos, int desde, int hasta) {
+            int hash = IndiceNombres.hash(datos, desde, hasta);
+            Vertice vertice = indice.buscar(datos, desde, hasta, hash);
+            if (vertice == null) {
+                String dato = new String(datos, desde, hasta - desde, StandardCharsets.UTF_8);
+                vertice = grafo.buscarVertice(dato);
+                if (vertice == null) {
+                    vertice = new Vertice(dato);
+                    grafo.insertarVertice(vertice);
+                    verticesNuevos++;
+                }
+                indice.agregar(datos, desde, hasta, hash, vertice);
+            }
+            return vertice;
+        }
+
+    }
+
+    /**
+     * Elige el separador de una línea: el primero, en orden de preferencia,
+     * que aparezca en ella.
+     *
+     * @param datos bytes del bloque
+     * @param desde inicio de la línea
+     * @param hasta fin de la línea
+     * @return tabulador, coma, punto y coma o espacio
+     */
+    private static byte detectarSeparador(byte[] datos, int desde, int hasta) {
+        for (byte candidato : new byte[]{'\t', ',', ';'}) {
+            for (int i = desde; i < hasta; i++) {
+                if (datos[i] == candidato) {
+                    return candidato;
+                }
+            }
+        }
+        return ' ';
+    }
+
+    /**
+     * Indica si un byte es un espacio o un tabulador.
+     *
+     * @param b byte a comprobar
+     * @return verdadero si es un espacio
+     */
+    private static boolean esEspacio(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    /**
+     * Interpreta un entero decimal con signo opcional.
+     *
+     * @param datos bytes del bloque
+     * @param desde inicio del número
+     * @param hasta fin del número
+     * @return el número, o {@code Long.MIN_VALUE} si no es un entero válido
+     * o no cabe en un {@code int}
+     */
+    private static long entero(byte[] datos, int desde, int hasta) {
+        boolean negativo = datos[desde] == '-';
+        int i = negativo || datos[desde] == '+' ? desde + 1 : desde;
+        if (i == hasta) {
+            return Long.MIN_VALUE;
+        }
+        long valor = 0;
+        for (; i < hasta; i++) {
+            int digito = datos[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return Long.MIN_VALUE;
+            }
+            valor = valor * 10 + digito;
+            if (valor > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+        valor = negativo ? -valor : valor;
+        return valor > Integer.MAX_VALUE ? Long.MIN_VALUE : valor;
+    }
+
+    /**
+     * Índice hash de direccionamiento abierto de los nombres de vértice, que
+     * compara bytes en lugar de cadenas. Los nombres se copian uno detrás de
+     * otro en un solo arreglo.
+     */
+    private static final class IndiceNombres {
+
+        /**
+         * Posición de cada entrada más uno; 0 es una ranura vacía.
+         */
+        private int[] ranuras = new int[1 << 10];
+        private int[] hashes = new int[1 << 9];
+        /**
+         * Inicio del nombre de cada entrada en {@link #bytes}; el de la
+         * siguiente marca su fin.
+         */
+        private int[] inicios = new int[(1 << 9) + 1];
+        private byte[] bytes = new byte[1 << 12];
+        private Vertice[] vertices = new Vertice[1 << 9];
+        private int cantidad;
+
+        /**
+         * Calcula el hash FNV-1a de un nombre.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio del nombre
+         * @param hasta fin del nombre
+         * @return el hash del nombre
+         */
+        static int hash(byte[] datos, int desde, int hasta) {
+            int hash = 0x811C9DC5;
+            for (int i = desde; i < hasta; i++) {
+                hash = (hash ^ datos[i]) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * Busca el vértice de un nombre.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio del nombre
+         * @param hasta fin del nombre
+         * @param hash hash del nombre
+         * @return el vértice, o null si el nombre no está en el índice
+         */
+        Vertice buscar(byte[] datos, int desde, int hasta, int hash) {
+            int mascara = ranuras.length - 1;
+            for (int r = hash & mascara; ranuras[r] != 0; r = (r + 1) & mascara) {
+                int e = ranuras[r] - 1;
+                if (hashes[e] == hash && iguales(e, datos, desde, hasta)) {
+                    return vertices[e];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Agrega un nombre que no está en el índice.
+         *
+         * @param datos bytes del bloque
+         * @param desde inicio del nombre
+         * @param hasta fin del nombre
+         * @param hash hash del nombre
+         * @param vertice vértice con ese nombre
+         */
+        void agregar(byte[] datos, int desde, int hasta, int hash, Vertice vertice) {
+            if (cantidad == vertices.length) {
+                int capacidad = vertices.length * 2;
+                hashes = Arrays.copyOf(hashes, capacidad);
+                inicios = Arrays.copyOf(inicios, capacidad + 1);
+                vertices = Arrays.copyOf(vertices, capacidad);
+                ranuras = new int[capacidad * 2];
+                for (int e = 0; e < cantidad; e++) {
+                    ubicar(e);
+                }
+            }
+            int largo = hasta - desde;
+            int inicio = inicios[cantidad];
+            if (inicio + largo > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, inicio + largo));
+            }
+            System.arraycopy(datos, desde, bytes, inicio, largo);
+            inicios[cantidad + 1] = inicio + largo;
+            hashes[cantidad] = hash;
+            vertices[cantidad] = vertice;
+            ubicar(cantidad);
+            cantidad++;
+        }
+
+        /**
+         * Pone una entrada en la primera ranura vacía desde la de su hash.
+         *
+         * @param e posición de la entrada
+         */
+        private void ubicar(int e) {
+            int mascara = ranuras.length - 1;
+            int r = hashes[e] & mascara;
+            while (ranuras[r] != 0) {
+                r = (r + 1) & mascara;
+            }
+            ranuras[r] = e + 1;
+        }
+
+        /**
+         * Compara el nombre de una entrada con unos bytes.
+         *
+         * @param e posición de la entrada
+         * @param datos bytes del bloque
+         * @param desde inicio del nombre
+         * @param hasta fin del nombre
+         * @return verdadero si son el mismo nombre
+         */
+        private boolean iguales(int e, byte[] datos, int desde, int hasta) {
+            int inicio = inicios[e];
+            if (inicios[e + 1] - inicio != hasta - desde) {
+                return false;
+            }
+            for (int i = desde; i < hasta; i++) {
+                if (bytes[inicio++] != datos[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,307 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Centralidad de intermediación de los vértices de una instantánea
+ * {@link GrafoCSR} con el algoritmo de Brandes. La intermediación de un
+ * vértice es la suma, sobre todos los pares de otros vértices, de la
+ * fracción de caminos mínimos entre el par que pasan por él.
+ *
+ * Por cada fuente se calculan los caminos mínimos hacia todos los vértices,
+ * con un recorrido en amplitud o, si la intermediación es ponderada, con
+ * Dijkstra sobre los pesos de las aristas. Después se recorren los vértices
+ * del más lejano al más cercano acumulando la dependencia de la fuente en
+ * cada uno. Los predecesores no se guardan en listas: al acumular se buscan
+ * entre los arcos de entrada de cada vértice, así que la memoria por fuente
+ * es lineal en la cantidad de vértices.
+ *
+ * Las fuentes se reparten entre tantos trabajadores como hilos tenga el
+ * pool. Cada trabajador toma la siguiente fuente libre de un contador
+ * compartido y acumula en su propio arreglo, y al final se suman los
+ * arreglos de todos.
+ *
+ * Calcular la intermediación exacta cuesta O(V·E). {@link #muestreada(int,
+ * long)} usa solo algunas fuentes al azar y escala el resultado; el
+ * {@link ResultadoIntermediacion} informa una cota del error.
+ *
+ * En un grafo no dirigido cada par se cuenta una sola vez.
+ *
+ * @author Michael González
+ */
+public final class Intermediacion {
+
+    private final GrafoCSR grafo;
+    private final boolean ponderada;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     * @param ponderada si los caminos mínimos se miden con los pesos de las
+     * aristas en lugar de con la cantidad de aristas
+     */
+    public Intermediacion(GrafoCSR grafo, boolean ponderada) {
+        this(grafo, ponderada, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea del grafo
+     * @param ponderada si los caminos mínimos se miden con los pesos de las
+     * aristas en lugar de con la cantidad de aristas
+     * @param pool hilos entre los que se reparten las fuentes
+     * @throws IllegalArgumentException si es ponderada y algún peso no es
+     * positivo
+     */
+    public Intermediacion(GrafoCSR grafo, boolean ponderada, ForkJoinPool pool) {
+        if (ponderada) {
+            for (int peso : grafo.pesos) {
+                if (peso <= 0) {
+                    throw new IllegalArgumentException("La intermediación ponderada requiere pesos positivos: " + peso);
+                }
+            }
+        }
+        this.grafo = grafo;
+        this.ponderada = ponderada;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula la intermediación exacta usando todos los vértices como
+     * fuente.
+     *
+     * @return la intermediación de cada vértice
+     */
+    public ResultadoIntermediacion exacta() {
+        int n = grafo.cantidadVertices();
+        int[] fuentes = new int[n];
+        for (int v = 0; v < n; v++) {
+            fuentes[v] = v;
+        }
+        return new ResultadoIntermediacion(acumular(fuentes, 1), n, n, grafo.esDirigido());
+    }
+
+    /**
+     * Estima la intermediación con una muestra de fuentes elegidas al azar y
+     * sin repetir. La dependencia acumulada se multiplica por la cantidad de
+     * vértices entre la cantidad de muestras, así que la estimación no tiene
+     * sesgo.
+     *
+     * @param muestras cantidad de fuentes; si alcanza la cantidad de
+     * vértices, el resultado es exacto
+     * @param semilla semilla del generador con el que se eligen las fuentes
+     * @return la intermediación estimada de cada vértice y su cota de error
+     * @throws IllegalArgumentException si la cantidad de muestras no es
+     * positiva
+     */
+    public ResultadoIntermediacion muestreada(int muestras, long semilla) {
+        if (muestras <= 0) {
+            throw new IllegalArgumentException("La cantidad de muestras debe ser positiva");
+        }
+        int n = grafo.cantidadVertices();
+        if (muestras >= n) {
+            return exacta();
+        }
+        //Fisher-Yates parcial: las primeras posiciones quedan con la muestra
+        int[] vertices = new int[n];
+        for (int v = 0; v < n; v++) {
+            vertices[v] = v;
+        }
+        Random aleatorio = new Random(semilla);
+        for (int i = 0; i < muestras; i++) {
+            int j = i + aleatorio.nextInt(n - i);
+            int temporal = vertices[i];
+            vertices[i] = vertices[j];
+            vertices[j] = temporal;
+        }
+        int[] fuentes = Arrays.copyOf(vertices, muestras);
+        return new ResultadoIntermediacion(acumular(fuentes, (double) n / muestras), n, muestras, grafo.esDirigido());
+    }
+
+    /**
+     * Reparte las fuentes entre los trabajadores y suma sus acumuladores.
+     *
+     * @param fuentes vértices desde los que se calculan los caminos
+     * @param escala factor por el que se multiplica el resultado
+     * @return la intermediación acumulada de cada vértice
+     */
+    private double[] acumular(int[] fuentes, double escala) {
+        int n = grafo.cantidadVertices();
+        AtomicInteger siguiente = new AtomicInteger();
+        int cantidad = Math.max(1, Math.min(pool.getParallelism(), fuentes.length));
+        Trabajador[] trabajadores = new Trabajador[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            trabajadores[i] = new Trabajador(fuentes, siguiente);
+            pool.execute(trabajadores[i]);
+        }
+        double[] total = new double[n];
+        for (Trabajador trabajador : trabajadores) {
+            double[] parcial = trabajador.join();
+            for (int v = 0; v < n; v++) {
+                total[v] += parcial[v];
+            }
+        }
+        //En un grafo no dirigido cada par aparece desde sus dos extremos
+        double factor = grafo.esDirigido() ? escala : escala / 2;
+        for (int v = 0; v < n; v++) {
+            total[v] *= factor;
+        }
+        return total;
+    }
+
+    /**
+     * Trabajador que resuelve fuentes hasta que no quedan y acumula sus
+     * dependencias. Reserva los arreglos una sola vez y, entre una fuente y
+     * la siguiente, solo reinicia los vértices que alcanzó.
+     */
+    private final class Trabajador extends RecursiveTask<double[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final int[] fuentes;
+        private final AtomicInteger siguiente;
+        private final long[] distancias;
+        private final double[] caminos;
+        private final double[] dependencias;
+        /**
+         * Vértices alcanzados, en el orden en que quedan resueltos. En el
+         * recorrido en amplitud también sirve de cola.
+         */
+        private final int[] orden;
+        private MonticuloIndexado monticulo;
+        private int alcanzados;
+
+        Trabajador(int[] fuentes, AtomicInteger siguiente) {
+            int n = grafo.cantidadVertices();
+            this.fuentes = fuentes;
+            this.siguiente = siguiente;
+            this.distancias = new long[n];
+            this.caminos = new double[n];
+            this.dependencias = new double[n];
+            this.orden = new int[n];
+            Arrays.fill(distancias, CaminosMinimos.INFINITO);
+        }
+
+        @Override
+        protected double[] compute() {
+            double[] acumulados = new double[grafo.cantidadVertices()];
+            if (ponderada) {
+                monticulo = new MonticuloIndexado(grafo.cantidadVertices());
+            }
+            int i;
+            while ((i = siguiente.getAndIncrement()) < fuentes.length) {
+                int fuente = fuentes[i];
+                if (ponderada) {
+                    dijkstra(fuente);
+                } else {
+                    bfs(fuente);
+                }
+                acumularDependencias(fuente, acumulados);
+            }
+            return acumulados;
+        }
+
+        /**
+         * Cuenta los caminos con menos aristas desde la fuente.
+         *
+         * @param fuente vértice de partida
+         */
+        private void bfs(int fuente) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            distancias[fuente] = 0;
+            caminos[fuente] = 1;
+            orden[0] = fuente;
+            alcanzados = 1;
+            for (int cabeza = 0; cabeza < alcanzados; cabeza++) {
+                int u = orden[cabeza];
+                long siguienteNivel = distancias[u] + 1;
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int v = destinos[arco];
+                    if (distancias[v] == CaminosMinimos.INFINITO) {
+                        distancias[v] = siguienteNivel;
+                        orden[alcanzados++] = v;
+                    }
+                    if (distancias[v] == siguienteNivel) {
+                        caminos[v] += caminos[u];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Cuenta los caminos de menor peso desde la fuente. Como los pesos
+         * son positivos, cuando un vértice sale del montículo ya recibió los
+         * caminos de todos sus predecesores.
+         *
+         * @param fuente vértice de partida
+         */
+        private void dijkstra(int fuente) {
+            int[] desplazamientos = grafo.desplazamientos;
+            int[] destinos = grafo.destinos;
+            int[] pesos = grafo.pesos;
+            distancias[fuente] = 0;
+            caminos[fuente] = 1;
+            monticulo.insertarODisminuir(fuente, 0);
+            alcanzados = 0;
+            while (!monticulo.isEmpty()) {
+                int u = monticulo.pop();
+                orden[alcanzados++] = u;
+                for (int arco = desplazamientos[u]; arco < desplazamientos[u + 1]; arco++) {
+                    int v = destinos[arco];
+                    long nueva = distancias[u] + pesos[arco];
+                    if (nueva < distancias[v]) {
+                        distancias[v] = nueva;
+                        caminos[v] = caminos[u];
+                        monticulo.insertarODisminuir(v, nueva);
+                    } else if (nueva == distancias[v]) {
+                        caminos[v] += caminos[u];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Recorre los vértices alcanzados del más lejano al más cercano y
+         * pasa la dependencia de cada uno a sus predecesores, que son los
+         * orígenes de los arcos de entrada que están sobre un camino mínimo.
+         * Deja los arreglos listos para la siguiente fuente.
+         *
+         * @param fuente vértice de partida
+         * @param acumulados intermediación acumulada por el trabajador
+         */
+        private void acumularDependencias(int fuente, double[] acumulados) {
+            int[] desplazamientosEntrada = grafo.desplazamientosEntrada;
+            int[] origenes = grafo.origenes;
+            int[] pesosEntrada = grafo.pesosEntrada;
+            for (int i = alcanzados - 1; i >= 0; i--) {
+                int w = orden[i];
+                double coeficiente = (1 + dependencias[w]) / caminos[w];
+                for (int arco = desplazamientosEntrada[w]; arco < desplazamientosEntrada[w + 1]; arco++) {
+                    int v = origenes[arco];
+                    long paso = ponderada ? pesosEntrada[arco] : 1;
+                    if (distancias[v] != CaminosMinimos.INFINITO && distancias[v] + paso == distancias[w]) {
+                        dependencias[v] += caminos[v] * coeficiente;
+                    }
+                }
+                if (w != fuente) {
+                    acumulados[w] += dependencias[w];
+                }
+            }
+            for (int i = 0; i < alcanzados; i++) {
+                int v = orden[i];
+                distancias[v] = CaminosMinimos.INFINITO;
+                caminos[v] = 0;
+                dependencias[v] = 0;
+            }
+        }
+
+    }
+
+}
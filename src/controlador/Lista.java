@@ -1,28 +1,47 @@
 package controlador;
 
-import modelo.Nodo;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 /**
  * Estructura de datos que crea una lista en la que se van a almacenar datos del
  * tipo especificado. Esta clase se asemeja en estructura a la clase
- * {@code ArrayList} derivada de la interfaz {@code Collection}.
+ * {@code ArrayList} derivada de la interfaz {@code Collection}: los elementos
+ * se guardan en un arreglo que crece geométricamente cuando se llena, de modo
+ * que el acceso por índice es constante y añadir al final cuesta, en promedio,
+ * tiempo constante.
  *
  * @author Michael González
  * @param <T> Tipo de los elementos que se almacenarán en la Lista.
  */
 public class Lista<T> implements Iterable<T> {
 
-    private Nodo<T> primero;
-    private Nodo<T> ultimo;
+    /**
+     * Capacidad con la que se crea el arreglo cuando no se especifica otra.
+     */
+    private static final int CAPACIDAD_INICIAL = 10;
+
+    private Object[] elementos;
     private int tamanio;
 
     /**
-     * Constructor por defecto. Inicializa los nodos que la lista va a usar para
-     * enlazarse.
+     * Constructor por defecto. Inicializa el arreglo en el que la lista va a
+     * almacenar sus elementos.
      */
     public Lista() {
-        this.primero = null;
-        this.ultimo = null;
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     * Sirve para evitar que el arreglo tenga que crecer cuando se conoce de
+     * antemano el tamaño aproximado de la lista.
+     *
+     * @param capacidad cantidad de elementos que se podrán almacenar sin
+     * redimensionar el arreglo.
+     */
+    public Lista(int capacidad) {
+        this.elementos = new Object[Math.max(capacidad, 1)];
         this.tamanio = 0;
     }
 
@@ -32,9 +51,9 @@ public class Lista<T> implements Iterable<T> {
      * @param l lista que va a llenar la lista actual.
      */
     public Lista(Lista<T> l) {
-        for (T t : l) {
-            Lista.this.add(t);
-        }
+        this(l.tamanio);
+        System.arraycopy(l.elementos, 0, this.elementos, 0, l.tamanio);
+        this.tamanio = l.tamanio;
     }
 
     /**
@@ -55,6 +74,20 @@ public class Lista<T> implements Iterable<T> {
         return tamanio;
     }
 
+    /**
+     * Garantiza que el arreglo tenga espacio para al menos la cantidad de
+     * elementos indicada. Cuando no lo tiene, se crece en un cincuenta por
+     * ciento para que las inserciones sucesivas no copien el arreglo cada vez.
+     *
+     * @param minimo cantidad de elementos que debe poder almacenar el arreglo
+     */
+    private void asegurarCapacidad(int minimo) {
+        if (minimo > elementos.length) {
+            int nuevaCapacidad = elementos.length + (elementos.length >> 1) + 1;
+            elementos = Arrays.copyOf(elementos, Math.max(nuevaCapacidad, minimo));
+        }
+    }
+
     /**
      * Añade el elemento al principio de la lista.
      *
@@ -62,41 +95,25 @@ public class Lista<T> implements Iterable<T> {
      * @return elemento añadido
      */
     public T addFirst(T elemento) {
-        Nodo<T> aux;
-        //si esta vacia, el nodo será el primero y ultimo
-        if (isEmpty()) {
-            aux = new Nodo<>(elemento, null);
-            primero = aux;
-            ultimo = aux;
-        } else {
-            //Hago el intercambio
-            Nodo<T> primeroActual = primero;
-            aux = new Nodo<>(elemento, primeroActual);
-            primero = aux;
-        }
+        asegurarCapacidad(tamanio + 1);
+        //Corro los elementos una posición a la derecha
+        System.arraycopy(elementos, 0, elementos, 1, tamanio);
+        elementos[0] = elemento;
         tamanio++;
-        return primero.getDato();
+        return elemento;
     }
 
     /**
-     * Añade un elemento al final de la lista. Si está vacía, se agrega el
-     * elemento al comienzo de la misma para así, crearla.
+     * Añade un elemento al final de la lista. Si está vacía, el elemento queda
+     * al comienzo de la misma.
      *
      * @param elemento el dato que se va a add
      * @return elemento añadido
      */
     public T add(T elemento) {
-        Nodo<T> aux;
-        if (isEmpty()) {
-            return addFirst(elemento);
-        } else {
-            //Hago el intercambio
-            aux = new Nodo<>(elemento, null);
-            ultimo.setSiguiente(aux);
-            ultimo = aux;
-        }
-        tamanio++;
-        return ultimo.getDato();
+        asegurarCapacidad(tamanio + 1);
+        elementos[tamanio++] = elemento;
+        return elemento;
     }
 
     /**
@@ -117,22 +134,11 @@ public class Lista<T> implements Iterable<T> {
         } else if (index < 0 || index >= size()) {
             return null;
         } else {
-
-            //Cojo el anterior nodo al que estoy buscando
-            Nodo<T> buscado_anterior = getNodo(index - 1);
-
-            //Cojo el nodo de la posicion indicada
-            Nodo<T> buscado_actual = getNodo(index);
-
-            //Creo el nuevo nodo, este apuntara al de la posicion actual
-            Nodo<T> aux = new Nodo<>(elemento, buscado_actual);
-
-            //el nodo anterior apunta a nuestro nuevo nodo
-            buscado_anterior.setSiguiente(aux);
-
+            asegurarCapacidad(tamanio + 1);
+            System.arraycopy(elementos, index, elementos, index + 1, tamanio - index);
+            elementos[index] = elemento;
             tamanio++;
-            return getNodo(index).getDato();
-
+            return elemento;
         }
     }
 
@@ -147,52 +153,45 @@ public class Lista<T> implements Iterable<T> {
     }
 
     /**
-     * Método para obtener un nodo de la lista. Si está vacío o el índice no es
-     * correcto, devuelve un valor nulo.
+     * Devuelve el elemento almacenado en una posición del arreglo sin validar
+     * el índice.
      *
-     * @param index recibe el índice especificado
-     * @return el nodo completo de una posicion especificada
+     * @param index índice del elemento
+     * @return el elemento en dicha posición
      */
-    private Nodo<T> getNodo(int index) {
-        if (isEmpty() || (index < 0 || index >= size())) {
-            return null;
-        } else if (index == 0) {
-            return primero;
-        } else if (index == size() - 1) {
-            return ultimo;
-        } else {
-            Nodo<T> buscado = primero;
-            int contador = 0;
-            while (contador < index) {
-                contador++;
-                buscado = buscado.getSiguiente();
-            }
-            return buscado;
-        }
+    @SuppressWarnings("unchecked")
+    private T elemento(int index) {
+        return (T) elementos[index];
     }
 
     /**
-     * Método para obtener un nodo de la lista. Si está vacío o el índice no es
-     * correcto, devuelve un valor nulo.
+     * Método para obtener un elemento de la lista. Si está vacío o el índice no
+     * es correcto, devuelve un valor nulo.
      *
      * @param index recibe el índice especificado
-     * @return el nodo completo de una posicion especificada
+     * @return el elemento de una posicion especificada
      */
     public T get(int index) {
-        Nodo<T> buscado = getNodo(index);
-        return buscado.getDato();
+        if (index < 0 || index >= tamanio) {
+            return null;
+        }
+        return elemento(index);
     }
 
     /**
-     * Método para obtener un nodo de la lista. Si está vacío o el elemento no
-     * es correcto, devuelve un valor nulo.
+     * Método para obtener un elemento de la lista a partir de otro que sea
+     * igual a él.
      *
      * @param t recibe el elemento que se va a buscar
      * @return El elemento encontrado.
+     * @throws NullPointerException si el elemento no se encuentra en la lista
      */
     public T get(T t) throws NullPointerException {
-        Nodo<T> buscado = getNodo(indexOf(t));
-        return buscado.getDato();
+        int index = indexOf(t);
+        if (index < 0) {
+            throw new NullPointerException("El elemento no se encuentra en la lista");
+        }
+        return elemento(index);
     }
 
     /**
@@ -204,8 +203,10 @@ public class Lista<T> implements Iterable<T> {
      * especificada
      */
     public void set(int index, T value) {
-        Nodo<T> buscado = getNodo(index);
-        buscado.setDato(value);
+        if (index < 0 || index >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + tamanio);
+        }
+        elementos[index] = value;
     }
 
     /**
@@ -215,15 +216,9 @@ public class Lista<T> implements Iterable<T> {
      * @return
      */
     public int indexOf(T elemento) {
-        if (!isEmpty()) {
-            Nodo<T> aux = primero;
-            int posicion = 0;
-            while (aux != null) {
-                if (elemento.equals(aux.getDato())) {
-                    return posicion;
-                }
-                posicion++;
-                aux = aux.getSiguiente();
+        for (int i = 0; i < tamanio; i++) {
+            if (elemento.equals(elementos[i])) {
+                return i;
             }
         }
         return -1;
@@ -235,19 +230,7 @@ public class Lista<T> implements Iterable<T> {
      * @return el elemento eliminado. Nulo si la lista está vacía.
      */
     public T removeFirst() {
-        if (!isEmpty()) {
-            T elemento = primero.getDato();
-            //Tomo el segundo
-            Nodo<T> aux = primero.getSiguiente();
-            primero = null; //Lo marco como null para el recolector
-            primero = aux; //Nuevo primero
-            if (size() == 1) {
-                ultimo = null;
-            }
-            tamanio--;
-            return elemento;
-        }
-        return null;
+        return remove(0);
     }
 
     /**
@@ -256,39 +239,11 @@ public class Lista<T> implements Iterable<T> {
      * @return el elemento eliminado. Nulo si la lista está vacía.
      */
     public T removeLast() {
-        if (!isEmpty()) {
-            //Coge el elemento antes de borrar
-            T elemento = ultimo.getDato();
-            //Cojo el penultimo
-            Nodo<T> aux = getNodo(size() - 2);
-
-            //En caso de que sea null
-            //Hay 1 o dos elementos
-            if (aux == null) {
-                //marco el ultimo como nulo
-                ultimo = null;
-                //Si hay dos, el primero y el ultimo seran el mismo
-                //Si hay 1 elemento, significa que borramos la lista
-                if (size() == 2) {
-                    ultimo = primero;
-                } else {
-                    primero = null;
-                }
-            } else {
-                //el penultimo es el nuevo ultimo 
-                //y le ponemos como siguiente nulo
-                ultimo = null;
-                ultimo = aux;
-                ultimo.setSiguiente(null);
-            }
-            tamanio--;
-            return elemento;
-        }
-        return null;
+        return remove(tamanio - 1);
     }
 
     /**
-     * Elimina el nodo de la lista en la posicion especificada.
+     * Elimina el elemento de la lista en la posicion especificada.
      *
      * @param index índice que se va a elminiar
      * @return el elemento eliminado. Nulo si la lista está vacía.
@@ -296,57 +251,35 @@ public class Lista<T> implements Iterable<T> {
     public T remove(int index) {
         if (isEmpty() || (index < 0 || index >= size())) {
             return null;
-        } else if (index == 0) {
-            return removeFirst();
-        } else if (index == size() - 1) {
-            return removeLast();
-        } else {
-
-            //Cojo el nodo anterior al que quiero borrar
-            Nodo<T> nodo_anterior = getNodo(index - 1);
-
-            //Cojo el nodo que quiero borrar
-            Nodo<T> nodo_actual = getNodo(index);
-
-            //Cojo el elemento antes de borrar
-            T elemento = nodo_actual.getDato();
-
-            //Cojo el nodo siguiente al que quiero borrar
-            Nodo<T> nodo_siguiente = nodo_actual.getSiguiente();
-
-            //El nodo anterior apunta al nodo siguiente
-            nodo_anterior.setSiguiente(nodo_siguiente);
-
-            tamanio--;
-            return elemento;
-
         }
+        T elemento = elemento(index);
+        //Corro los elementos siguientes una posición a la izquierda
+        int mover = tamanio - index - 1;
+        if (mover > 0) {
+            System.arraycopy(elementos, index + 1, elementos, index, mover);
+        }
+        elementos[--tamanio] = null; //Lo marco como null para el recolector
+        return elemento;
     }
 
     /**
-     * Elimina el nodo de la lista en el que se encuentre el elemento
-     * especificado.
+     * Elimina de la lista el primer elemento igual al especificado.
      *
      * @param t elemento que se va a eliminar
      * @return El elemento eliminado
      */
     public T remove(T t) {
-        if (!isEmpty() && this.contains(t)) {
-            return remove(indexOf(t));
-        }
-        return null;
+        int index = indexOf(t);
+        return index >= 0 ? remove(index) : null;
     }
 
     /**
-     * Limpia la lista.
+     * Limpia la lista. Se conserva la capacidad del arreglo para poder volver
+     * a llenarla sin redimensionarlo.
      */
     public void clear() {
-        if (!isEmpty()) {
-            for (int i = 0; i < tamanio; i++) {
-                remove(i);
-            }
-            tamanio = 0;
-        }
+        Arrays.fill(elementos, 0, tamanio, null);
+        tamanio = 0;
     }
 
     /**
@@ -359,9 +292,8 @@ public class Lista<T> implements Iterable<T> {
      */
     public T modify(T elemento, int index) {
         if (!(isEmpty() || (index < 0 || index >= size()))) {
-            Nodo<T> aux = getNodo(index);
-            aux.setDato(elemento);
-            return aux.getDato();
+            elementos[index] = elemento;
+            return elemento;
         }
         return null;
     }
@@ -373,17 +305,14 @@ public class Lista<T> implements Iterable<T> {
      * @return contador que almacena la lista.
      */
     public String print() {
-        String contenido = "";
-        if (!isEmpty()) {
-            Nodo<T> aux = primero;
-            while (aux != null) {
-                contenido += aux.getDato().toString();
-                aux = aux.getSiguiente();
-            }
-        } else {
-            contenido = "Lista vacia";
+        if (isEmpty()) {
+            return "Lista vacia";
         }
-        return contenido;
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 0; i < tamanio; i++) {
+            contenido.append(elementos[i].toString());
+        }
+        return contenido.toString();
     }
 
     /**
@@ -400,26 +329,24 @@ public class Lista<T> implements Iterable<T> {
 
     /**
      * Se crea la clase interna MyIterator, que implementa la interfaz Iterator.
-     * La creación de esta clase interna hace que no sea necesaria la
-     * implementación de los métodos abstractos de la interfaz Iterator en la
-     * clase ni que la clase Lista deba ser abstracta. También ayuda a que el
-     * código se vea más organizado.
-     *
-     * @param <ListaDinamica>
+     * El iterador avanza un cursor sobre el arreglo de la lista, por lo que
+     * cada paso es constante. Como el cursor es un índice, si la lista se
+     * modifica durante el recorrido el iterador continúa desde la misma
+     * posición.
      */
-    private class MyIterator<ListaDinamica> implements java.util.Iterator<T> {
+    private class MyIterator implements java.util.Iterator<T> {
 
-        //Indica el siguiente elemento que se va a devolver 
+        //Indica el siguiente elemento que se va a devolver
         private int siguiente;
 
         /**
          * Indica si hay un elemento.
          *
-         * @return El nodo existente
+         * @return verdadero si el cursor no ha llegado al final de la lista
          */
         @Override
         public boolean hasNext() {
-            return getNodo(siguiente) != null;
+            return siguiente < tamanio;
         }
 
         /**
@@ -429,9 +356,10 @@ public class Lista<T> implements Iterable<T> {
          */
         @Override
         public T next() {
-            T elemento = getNodo(siguiente).getDato();
-            siguiente++;
-            return elemento;
+            if (siguiente >= tamanio) {
+                throw new NoSuchElementException();
+            }
+            return elemento(siguiente++);
         }
 
     }
@@ -1,5 +1,8 @@
 package controlador;
 
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import modelo.Arista;
 import modelo.Vertice;
 
@@ -9,10 +12,18 @@ import modelo.Vertice;
  * este caso es dinámica, organizando la estructura de datos no lineal de una
  * forma que la máquina pueda entenderla.
  *
+ * El grafo puede ser no dirigido, donde cada arista une sus dos extremos en
+ * ambos sentidos, o dirigido, donde cada arista solo va de su origen a su
+ * destino y los recorridos siguen las aristas salientes de cada vértice.
+ *
  * @author Michael González
  */
 public class ListaAdyacencia {
 
+    /**
+     * Parámetros de las consultas que no reciben ninguno.
+     */
+    private static final Object[] SIN_PARAMETROS = new Object[0];
     /**
      * Lista que almacena los vértices ingresados.
      */
@@ -22,13 +33,77 @@ public class ListaAdyacencia {
      * inciden.
      */
     private final Lista<Arista> aristas;
+    /**
+     * Índice que relaciona el elemento de cada vértice con el vértice. Permite
+     * buscar un vértice y comprobar si ya existe sin recorrer la lista.
+     */
+    private final HashMap<String, Vertice> indiceVertices;
+    /**
+     * Índice de las aristas del grafo. Como la igualdad de una
+     * {@link Arista} depende de su origen y su destino, se puede buscar una
+     * arista con otra creada a partir de sus extremos.
+     */
+    private final HashMap<Arista, Arista> indiceAristas;
+    /**
+     * Época del grafo: aumenta con cada inserción o eliminación de un vértice
+     * o una arista. Lo que se calcula a partir del grafo sigue vigente
+     * mientras la época no cambie.
+     */
+    private long epoca;
+    /**
+     * Última instantánea tomada del grafo. Los recorridos la reutilizan
+     * mientras la época no cambie. La instantánea guarda su propia época, así
+     * que una sola lectura entrega las dos juntas.
+     */
+    private volatile GrafoCSR instantanea;
+    /**
+     * Resultados de las consultas repetibles, como los recorridos completos y
+     * los caminos mínimos, guardados con la época en la que se calcularon.
+     */
+    private final CacheConsultas consultas;
+    /**
+     * Componentes conexas del grafo. Se actualizan con cada inserción y se
+     * reconstruyen en la siguiente consulta después de una eliminación, porque
+     * la estructura no permite separar conjuntos.
+     */
+    private final ConjuntosDisjuntos componentes;
+    /**
+     * Identificador de cada vértice en {@link #componentes}.
+     */
+    private final HashMap<Vertice, Integer> idsComponentes;
+    /**
+     * Indica si {@link #componentes} corresponde al grafo actual.
+     */
+    private boolean componentesVigentes;
+    /**
+     * Indica si cada arista solo va de su origen a su destino.
+     */
+    private final boolean dirigido;
 
     /**
-     * Constructor que inicializa las dos listas. Aquí se crea un grafo vacío.
+     * Constructor que inicializa las dos listas. Aquí se crea un grafo vacío
+     * no dirigido.
      */
     public ListaAdyacencia() {
+        this(false);
+    }
+
+    /**
+     * Constructor que crea un grafo vacío, dirigido o no dirigido.
+     *
+     * @param dirigido verdadero para que cada arista solo vaya de su origen a
+     * su destino
+     */
+    public ListaAdyacencia(boolean dirigido) {
+        this.dirigido = dirigido;
         this.vertices = new Lista<>();
         this.aristas = new Lista<>();
+        this.indiceVertices = new HashMap<>();
+        this.indiceAristas = new HashMap<>();
+        this.componentes = new ConjuntosDisjuntos();
+        this.idsComponentes = new HashMap<>();
+        this.componentesVigentes = true;
+        this.consultas = new CacheConsultas();
     }
 
     /**
@@ -40,25 +115,37 @@ public class ListaAdyacencia {
      *
      */
     public ListaAdyacencia(Lista<Vertice> vertices) {
-        this.vertices = new Lista<>();
+        this.dirigido = false;
+        this.vertices = new Lista<>(vertices.size());
         this.aristas = new Lista<>();
+        this.indiceVertices = new HashMap<>(vertices.size() * 4 / 3 + 1);
+        this.indiceAristas = new HashMap<>();
+        this.componentes = new ConjuntosDisjuntos(vertices.size());
+        this.idsComponentes = new HashMap<>(vertices.size() * 4 / 3 + 1);
+        this.componentesVigentes = true;
+        this.consultas = new CacheConsultas();
 
         for (Vertice v : vertices) {
-            this.vertices.add(v);
+            insertarVertice(v);
         }
 
     }
 
     /**
-     * Inserta un nuevo vértice. Si el vértice ya existe no se puede volver a
-     * insertar.
+     * Inserta un nuevo vértice. Si ya existe un vértice con el mismo elemento
+     * no se puede volver a insertar.
      *
      * @param vertice Vértice a insertar
      * @return verdarero o falso si el vértice se inserta con éxito
      */
     public boolean insertarVertice(Vertice vertice) {
-        if (!contieneElVertice(vertice)) {
+        if (!indiceVertices.containsKey(vertice.getDato())) {
             vertices.add(vertice);
+            indiceVertices.put(vertice.getDato(), vertice);
+            if (componentesVigentes) {
+                idsComponentes.put(vertice, componentes.agregar());
+            }
+            epoca++;
             return true;
         }
         return false;
@@ -72,40 +159,45 @@ public class ListaAdyacencia {
      * @return verdadero o falso si el vértice se elimina correctamente
      */
     public boolean eliminarVertice(Vertice vertice) {
-        for (Vertice verticeEliminar : vertices) {
-            if (verticeEliminar.equals(vertice)) {
-                for (Arista aristaEliminar : aristas) {
-                    Vertice posibleOrigen = aristaEliminar.getOrigen();
-                    Vertice posibleDestino = aristaEliminar.getDestino();
-                    if (verticeEliminar.equals(posibleOrigen) || verticeEliminar.equals(posibleDestino)) {
-                        posibleOrigen.eliminarEnlace(aristaEliminar);
-                        posibleDestino.eliminarEnlace(aristaEliminar);
-                        aristas.remove(aristaEliminar);
-                    }
-                }
-                vertices.remove(verticeEliminar);
-                return true;
-            }
+        if (!contieneElVertice(vertice)) {
+            return false;
         }
-        return false;
+        for (Arista aristaEliminar : vertice.getList()) {
+            eliminarArista(aristaEliminar);
+        }
+        vertices.remove(vertice);
+        indiceVertices.remove(vertice.getDato());
+        componentesVigentes = false;
+        epoca++;
+        return true;
     }
 
     /**
-     * Verifica si el vértice recibido como parámetro existe en la lista de
-     * vértices.
+     * Verifica si el vértice recibido como parámetro existe en el grafo.
      *
      * @param vertice vértice buscado
      * @return verdadero o falso si el vertice se encuentra.
      */
     public boolean contieneElVertice(Vertice vertice) {
-        return vertices.contains(vertice);
+        return vertice != null && indiceVertices.get(vertice.getDato()) == vertice;
+    }
+
+    /**
+     * Busca el vértice que tiene el elemento especificado.
+     *
+     * @param dato elemento del vértice buscado
+     * @return El vértice con ese elemento. Null si no existe en el grafo.
+     */
+    public Vertice buscarVertice(String dato) {
+        return indiceVertices.get(dato);
     }
 
     /**
      * Inserta una arista especificando los vertices de origen y destino, además
      * de un coste o peso inicial que tendrá la arista. La arista se insertará
-     * cuando no haya más aristas conectando ese mismo origen y ese mismo
-     * destino. No se insertará si el origen es igual al destino.
+     * cuando no haya más aristas conectando esos dos vértices: en un grafo no
+     * dirigido, en cualquiera de los dos sentidos; en uno dirigido, del origen
+     * al destino. No se insertará si el origen es igual al destino.
      *
      * @param origen el vértice de origen de la arista.
      * @param destino el vértice de destino.
@@ -113,23 +205,74 @@ public class ListaAdyacencia {
      * @return verdadero o falso si la arista se insertó correctamente.
      */
     public boolean insertarArista(Vertice origen, Vertice destino, int peso) {
-        Arista arista = new Arista(origen, destino, peso);
-        //Validar si los vértives son los mismos
-        if (origen.equals(destino)) {
+        Arista arista = agregarArista(origen, destino, peso);
+        if (arista == null) {
             return false;
         }
-        //Validar si alguno de los dos vértices ya están enlazados a esa arista
-        if (origen.estaEnlazado(arista) || destino.estaEnlazado(arista)) {
-            return false;
+        if (componentesVigentes) {
+            unirComponentes(arista);
+        }
+        epoca++;
+        return true;
+    }
+
+    /**
+     * Inserta un lote de aristas con las mismas reglas de
+     * {@link #insertarArista(Vertice, Vertice, int)}. La época aumenta una
+     * sola vez por lote, y en lugar de unir las componentes conexas arista por
+     * arista se invalidan, para reconstruirlas una sola vez en la siguiente
+     * consulta que las necesite.
+     *
+     * @param origenes vértice de origen de cada arista
+     * @param destinos vértice de destino de cada arista
+     * @param pesos peso de cada arista
+     * @param cantidad cantidad de aristas del lote, desde el comienzo de los
+     * arreglos
+     * @return la cantidad de aristas que se insertaron
+     */
+    public int insertarAristas(Vertice[] origenes, Vertice[] destinos, int[] pesos, int cantidad) {
+        int insertadas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (agregarArista(origenes[i], destinos[i], pesos[i]) != null) {
+                insertadas++;
+            }
+        }
+        if (insertadas > 0) {
+            componentesVigentes = false;
+            epoca++;
+        }
+        return insertadas;
+    }
+
+    /**
+     * Agrega la arista a las listas, al índice y a sus dos extremos, si es
+     * válida y no existe todavía. Es válida si sus dos extremos son vértices
+     * distintos del grafo.
+     *
+     * @param origen el vértice de origen de la arista.
+     * @param destino el vértice de destino.
+     * @param peso valor que emplea la arista para llegar del origen al destino.
+     * @return La arista agregada. Null si no se agregó.
+     */
+    private Arista agregarArista(Vertice origen, Vertice destino, int peso) {
+        //Validar que los dos vértices pertenezcan al grafo
+        if (!contieneElVertice(origen) || !contieneElVertice(destino)) {
+            return null;
+        }
+        //Validar si los vértives son los mismos
+        if (origen.equals(destino)) {
+            return null;
         }
         //Si la arista no existe, se inserta
-        if (!contieneLaArista(arista)) {
-            aristas.add(arista);
-            origen.asignarArista(arista);
-            destino.asignarArista(arista);
-            return true;
+        if (existeArista(origen, destino)) {
+            return null;
         }
-        return false;
+        Arista arista = new Arista(origen, destino, peso);
+        aristas.add(arista);
+        indiceAristas.put(arista, arista);
+        origen.asignarArista(arista);
+        destino.asignarArista(arista);
+        return arista;
     }
 
     /**
@@ -145,14 +288,14 @@ public class ListaAdyacencia {
     }
 
     /**
-     * Inserta una arista ya definida. La envía al método de inserción que no
-     * requiere de un peso y este la envía al primer método de inserción.
+     * Inserta una arista ya definida. La envía al primer método de inserción
+     * con su origen, su destino y su peso.
      *
-     * @param arista el vértice de origen de la arista.
+     * @param arista la arista que se va a insertar.
      * @return verdadero o falso si la arista se insertó correctamente.
      */
     public boolean insertarArista(Arista arista) {
-        return insertarArista(arista.getOrigen(), arista.getDestino());
+        return insertarArista(arista.getOrigen(), arista.getDestino(), arista.getPeso());
     }
 
     /**
@@ -163,26 +306,91 @@ public class ListaAdyacencia {
      * @return Verdadero o falso si se logó eliminar correctamente
      */
     public boolean eliminarArista(Arista arista) {
-        for (Arista aristaEliminar : aristas) {
-            if (aristaEliminar.equals(arista)) {
-                aristaEliminar.getOrigen().eliminarEnlace(aristaEliminar);
-                aristaEliminar.getDestino().eliminarEnlace(aristaEliminar);
-                aristas.remove(aristaEliminar);
-                return true;
-            }
+        Arista aristaEliminar = buscarArista(arista.getOrigen(), arista.getDestino());
+        if (aristaEliminar == null) {
+            return false;
         }
-        return false;
+        aristaEliminar.getOrigen().eliminarEnlace(aristaEliminar);
+        aristaEliminar.getDestino().eliminarEnlace(aristaEliminar);
+        aristas.remove(aristaEliminar);
+        indiceAristas.remove(aristaEliminar);
+        componentesVigentes = false;
+        epoca++;
+        return true;
+    }
+
+    /**
+     * Cambia el peso de la arista que une dos vértices. A diferencia de
+     * {@link Arista#setPeso(int)}, aumenta la época, así que la instantánea y
+     * los caminos guardados en la caché se recalculan con el peso nuevo.
+     *
+     * @param origen uno de los extremos de la arista
+     * @param destino el otro extremo de la arista
+     * @param peso nuevo peso de la arista
+     * @return Verdadero o falso si la arista existe en el grafo
+     */
+    public boolean cambiarPeso(Vertice origen, Vertice destino, int peso) {
+        Arista arista = buscarArista(origen, destino);
+        if (arista == null) {
+            return false;
+        }
+        if (arista.getPeso() != peso) {
+            arista.setPeso(peso);
+            epoca++;
+        }
+        return true;
     }
 
     /**
-     * Comprueba si en la lista de aristas ya existe la arista.
+     * Aumenta la época para avisar que un vértice o una arista se modificó
+     * directamente, por ejemplo con {@link Arista#setPeso(int)} o
+     * {@link Vertice#setList(Lista)}. La siguiente consulta reconstruye la
+     * instantánea y no usa los resultados guardados en la caché.
+     */
+    public void marcarModificado() {
+        componentesVigentes = false;
+        epoca++;
+    }
+
+    /**
+     * Comprueba si en el grafo ya existe una arista entre los mismos vértices
+     * que la arista especificada.
      *
      * @param arista arista que se va a comprobar
      * @return verdadero o falso si la arista se encuentra en la lista de
      * aristas
      */
     public boolean contieneLaArista(Arista arista) {
-        return aristas.contains(arista);
+        return existeArista(arista.getOrigen(), arista.getDestino());
+    }
+
+    /**
+     * Comprueba si dos vértices están unidos por una arista. Si el grafo no es
+     * dirigido, no importa el orden en el que se indiquen.
+     *
+     * @param origen uno de los extremos de la arista
+     * @param destino el otro extremo de la arista
+     * @return verdadero o falso si existe la arista
+     */
+    public boolean existeArista(Vertice origen, Vertice destino) {
+        return buscarArista(origen, destino) != null;
+    }
+
+    /**
+     * Busca la arista que une dos vértices. Si el grafo no es dirigido, se
+     * busca en los dos sentidos; si lo es, solo la que va del origen al
+     * destino.
+     *
+     * @param origen uno de los extremos de la arista
+     * @param destino el otro extremo de la arista
+     * @return La arista almacenada en el grafo. Null si no existe.
+     */
+    public Arista buscarArista(Vertice origen, Vertice destino) {
+        Arista buscada = indiceAristas.get(new Arista(origen, destino));
+        if (buscada != null || dirigido) {
+            return buscada;
+        }
+        return indiceAristas.get(new Arista(destino, origen));
     }
 
     /**
@@ -194,27 +402,59 @@ public class ListaAdyacencia {
      * estructura de datos {@code Stack} o "pila" para su organización e
      * impresión.
      *
+     * Mientras el grafo no cambie, el resultado se toma de la caché de
+     * consultas.
+     *
      * @return Contador con los vértices en el orden por profundidad.
+     * @see Recorrido#dfs(int, controlador.VisitanteRecorrido)
      */
     public String dfs() {
-        Vertice primero = vertices.get(0);
-        Pila<Vertice> pila = new Pila<>();
-        pila.push(primero);
-        primero.setVisitado(true);
-        String cont = primero.getDato() + " ";
-        while (!pila.isEmpty()) {
-            Vertice v = pila.peek();
-            Vertice hijo = getNoVisitado(v);
-            if (hijo != null) {
-                hijo.setVisitado(true);
-                cont += hijo.getDato() + " ";
-                pila.push(hijo);
-            } else {
-                pila.pop();
-            }
+        if (vertices.isEmpty()) {
+            return "";
         }
-        limpiarVisitados();
-        return cont;
+        return consultar(snapshot(), "dfs", SIN_PARAMETROS, grafo -> {
+            StringBuilder cont = new StringBuilder();
+            new Recorrido(grafo).dfs(0, (vertice, profundidad, padre) -> {
+                cont.append(grafo.getVertice(vertice).getDato()).append(' ');
+                return true;
+            });
+            return cont.toString();
+        }, String::length);
+    }
+
+    /**
+     * Recorre el grafo en profundidad desde el vértice indicado y entrega al
+     * visitante cada vértice en cuanto se descubre. Los identificadores que
+     * recibe el visitante corresponden a la instantánea actual del grafo; ver
+     * {@link #snapshot()}.
+     *
+     * @param inicio vértice desde el que comienza el recorrido
+     * @param visitante recibe los vértices descubiertos y puede detener el
+     * recorrido
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean dfs(Vertice inicio, VisitanteRecorrido visitante) {
+        GrafoCSR grafo = snapshot();
+        return new Recorrido(grafo).dfs(idDe(grafo, inicio), visitante);
+    }
+
+    /**
+     * Recorre en profundidad todos los vértices del grafo, aunque no sea
+     * conexo. Cada componente forma un árbol cuya raíz llega al visitante con
+     * padre -1; el primero comienza en el vértice indicado.
+     *
+     * @param inicio vértice desde el que comienza el primer árbol
+     * @param visitante recibe los vértices descubiertos y puede detener el
+     * recorrido
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     * @see Recorrido#dfsBosque(int[], controlador.VisitanteRecorrido,
+     * controlador.EspacioRecorrido)
+     */
+    public boolean dfsBosque(Vertice inicio, VisitanteRecorrido visitante) {
+        GrafoCSR grafo = snapshot();
+        return new Recorrido(grafo).dfsBosque(new int[]{idDe(grafo, inicio)}, visitante, new EspacioRecorrido());
     }
 
     /**
@@ -225,39 +465,485 @@ public class ListaAdyacencia {
      * caso del recorrido en Amplitud, se usa la estructura de datos
      * {@code Queue} o "cola" para su organización e impresión.
      *
+     * Mientras el grafo no cambie, el resultado se toma de la caché de
+     * consultas.
+     *
      * @return Contador con los vértices en el orden por Amplitud.
+     * @see Recorrido#bfs(int, controlador.VisitanteRecorrido)
      */
     public String bfs() {
-        Vertice primero = vertices.get(0);
-        Cola<Vertice> cola = new Cola<>();
-        cola.queue(primero);
-        String cont = primero.getDato() + " ";
-        primero.setVisitado(true);
-        while (!cola.isEmpty()) {
-            Vertice v = cola.pop();
-            Vertice hijo;
-            while ((hijo = getNoVisitado(v)) != null) {
-                hijo.setVisitado(true);
-                cont += hijo.getDato() + " ";
-                cola.queue(hijo);
+        if (vertices.isEmpty()) {
+            return "";
+        }
+        return consultar(snapshot(), "bfs", SIN_PARAMETROS, grafo -> {
+            StringBuilder cont = new StringBuilder();
+            new Recorrido(grafo).bfs(0, (vertice, profundidad, padre) -> {
+                cont.append(grafo.getVertice(vertice).getDato()).append(' ');
+                return true;
+            });
+            return cont.toString();
+        }, String::length);
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado y entrega al
+     * visitante cada vértice en cuanto se descubre, junto con su profundidad y
+     * el vértice desde el que se llegó a él. Los identificadores corresponden
+     * a la instantánea actual del grafo; ver {@link #snapshot()}.
+     *
+     * @param inicio vértice desde el que comienza el recorrido
+     * @param visitante recibe los vértices descubiertos y puede detener el
+     * recorrido
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean bfs(Vertice inicio, VisitanteRecorrido visitante) {
+        GrafoCSR grafo = snapshot();
+        return new Recorrido(grafo).bfs(idDe(grafo, inicio), visitante);
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado alternando entre
+     * expandir la frontera y buscar padres desde los vértices no alcanzados,
+     * según convenga en cada nivel. Los identificadores corresponden a la
+     * instantánea actual del grafo; ver {@link #snapshot()}.
+     *
+     * @param inicio vértice desde el que comienza el recorrido
+     * @return Los niveles y los padres de cada vértice.
+     * @see BFSDireccional
+     */
+    public ResultadoBFS bfsDireccional(Vertice inicio) {
+        GrafoCSR grafo = snapshot();
+        return new BFSDireccional(grafo).bfs(idDe(grafo, inicio));
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado repartiendo cada
+     * nivel entre los hilos del pool común. Los niveles y los padres son los
+     * mismos del recorrido secuencial.
+     *
+     * @param inicio vértice desde el que comienza el recorrido
+     * @return Los niveles y los padres de cada vértice.
+     * @see BFSParalelo
+     */
+    public ResultadoBFS bfsParalelo(Vertice inicio) {
+        GrafoCSR grafo = snapshot();
+        return new BFSParalelo(grafo).bfs(idDe(grafo, inicio));
+    }
+
+    /**
+     * Calcula la distancia, en aristas, desde cada uno de los vértices de
+     * origen hasta todos los vértices del grafo. Los orígenes se recorren en
+     * lotes de 64 que comparten cada lectura de la adyacencia. Las columnas
+     * corresponden a los identificadores de la instantánea actual del grafo;
+     * ver {@link #snapshot()}.
+     *
+     * @param origenes vértices desde los que se miden las distancias
+     * @return Una fila por origen con la distancia a cada vértice, o -1 si no
+     * es alcanzable.
+     * @see BFSMultiple
+     */
+    public int[][] distanciasDesde(Lista<Vertice> origenes) {
+        GrafoCSR grafo = snapshot();
+        int[] ids = new int[origenes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idDe(grafo, origenes.get(i));
+        }
+        return new BFSMultiple(grafo).distancias(ids);
+    }
+
+    /**
+     * Calcula los caminos mínimos desde un vértice hasta todos los demás,
+     * usando el peso de las aristas como coste. Los identificadores del
+     * resultado corresponden a la instantánea actual del grafo; ver
+     * {@link #snapshot()}.
+     *
+     * Mientras el grafo no cambie, el resultado se toma de la caché de
+     * consultas.
+     *
+     * @param origen vértice de origen
+     * @return Las distancias y los predecesores de todos los vértices.
+     * @see Dijkstra
+     */
+    public CaminosMinimos caminosMinimos(Vertice origen) {
+        GrafoCSR grafo = snapshot();
+        return consultar(grafo, "caminosMinimos", new Object[]{origen},
+                actual -> new Dijkstra(actual).desde(idDe(actual, origen)),
+                caminos -> 3L * grafo.cantidadVertices());
+    }
+
+    /**
+     * Calcula los caminos mínimos desde un vértice con delta-stepping,
+     * relajando en paralelo las aristas de cada cubeta en el pool común. Las
+     * distancias son las mismas de {@link #caminosMinimos(Vertice)}.
+     *
+     * @param origen vértice de origen
+     * @param delta ancho de las cubetas de distancias
+     * @return Las distancias y los predecesores de todos los vértices.
+     * @see DeltaStepping
+     */
+    public CaminosMinimos caminosMinimosParalelo(Vertice origen, int delta) {
+        GrafoCSR grafo = snapshot();
+        return new DeltaStepping(grafo, delta).desde(idDe(grafo, origen));
+    }
+
+    /**
+     * Busca el camino de menor peso entre dos vértices.
+     *
+     * @param origen vértice donde comienza el camino
+     * @param destino vértice donde termina el camino
+     * @return Los vértices del camino, desde el origen hasta el destino. Una
+     * lista vacía si no hay camino.
+     * @see #caminoBidireccional(Vertice, Vertice)
+     */
+    public Lista<Vertice> caminoMasCorto(Vertice origen, Vertice destino) {
+        return caminoBidireccional(origen, destino).getVertices();
+    }
+
+    /**
+     * Busca el camino de menor peso entre dos vértices con Dijkstra
+     * bidireccional, que se detiene en cuanto las búsquedas desde los dos
+     * extremos se encuentran.
+     *
+     * Mientras el grafo no cambie, el resultado se toma de la caché de
+     * consultas.
+     *
+     * @param origen vértice donde comienza el camino
+     * @param destino vértice donde termina el camino
+     * @return El camino, su peso y la cantidad de vértices explorados.
+     * @see BusquedaPuntoAPunto#dijkstraBidireccional(int, int)
+     */
+    public CaminoPuntoAPunto caminoBidireccional(Vertice origen, Vertice destino) {
+        GrafoCSR grafo = snapshot();
+        return consultar(grafo, "caminoBidireccional", new Object[]{origen, destino},
+                actual -> new BusquedaPuntoAPunto(actual).dijkstraBidireccional(idDe(actual, origen), idDe(actual, destino)),
+                camino -> camino.getCamino().length);
+    }
+
+    /**
+     * Busca el camino con menos aristas entre dos vértices con un recorrido
+     * en amplitud bidireccional. Ignora el peso de las aristas.
+     *
+     * Mientras el grafo no cambie, el resultado se toma de la caché de
+     * consultas.
+     *
+     * @param origen vértice donde comienza el camino
+     * @param destino vértice donde termina el camino
+     * @return El camino, su cantidad de aristas y la cantidad de vértices
+     * explorados.
+     * @see BusquedaPuntoAPunto#bfsBidireccional(int, int)
+     */
+    public CaminoPuntoAPunto caminoMenosAristas(Vertice origen, Vertice destino) {
+        GrafoCSR grafo = snapshot();
+        return consultar(grafo, "caminoMenosAristas", new Object[]{origen, destino},
+                actual -> new BusquedaPuntoAPunto(actual).bfsBidireccional(idDe(actual, origen), idDe(actual, destino)),
+                camino -> camino.getCamino().length);
+    }
+
+    /**
+     * Busca el camino de menor peso entre dos vértices con A*, guiado por la
+     * heurística indicada.
+     *
+     * @param origen vértice donde comienza el camino
+     * @param destino vértice donde termina el camino
+     * @param heuristica cota inferior de la distancia que falta hasta el
+     * destino
+     * @return El camino, su peso y la cantidad de vértices explorados.
+     * @see BusquedaPuntoAPunto#aEstrella(int, int, Heuristica)
+     */
+    public CaminoPuntoAPunto caminoAEstrella(Vertice origen, Vertice destino, Heuristica heuristica) {
+        GrafoCSR grafo = snapshot();
+        return new BusquedaPuntoAPunto(grafo).aEstrella(idDe(grafo, origen), idDe(grafo, destino), heuristica);
+    }
+
+    /**
+     * Calcula el bosque de expansión mínima del grafo con Kruskal, usando el
+     * peso de las aristas como coste.
+     *
+     * @return Las aristas del bosque y la suma de sus pesos.
+     * @throws IllegalArgumentException si el grafo es dirigido
+     * @see ExpansionMinima#kruskal()
+     */
+    public BosqueExpansion expansionMinima() {
+        return new ExpansionMinima(snapshot()).kruskal();
+    }
+
+    /**
+     * Calcula el bosque de expansión mínima del grafo con Prim, haciendo
+     * crecer un árbol desde cada vértice con un montículo. Elige las mismas
+     * aristas que {@link #expansionMinima()}.
+     *
+     * @return Las aristas del bosque y la suma de sus pesos.
+     * @throws IllegalArgumentException si el grafo es dirigido
+     * @see ExpansionMinima#prim()
+     */
+    public BosqueExpansion expansionMinimaPrim() {
+        return new ExpansionMinima(snapshot()).prim();
+    }
+
+    /**
+     * Calcula el bosque de expansión mínima del grafo con Borůvka, repartiendo
+     * cada ronda entre los hilos del pool común. Elige las mismas aristas que
+     * {@link #expansionMinima()}.
+     *
+     * @return Las aristas del bosque y la suma de sus pesos.
+     * @throws IllegalArgumentException si el grafo es dirigido
+     * @see ExpansionMinima#boruvka()
+     */
+    public BosqueExpansion expansionMinimaParalela() {
+        return new ExpansionMinima(snapshot()).boruvka();
+    }
+
+    /**
+     * Indica si hay un camino entre dos vértices, sin recorrer el grafo. En un
+     * grafo dirigido se ignora el sentido de las aristas, así que las
+     * componentes son las débilmente conexas.
+     *
+     * @param a uno de los vértices
+     * @param b el otro vértice
+     * @return verdadero si están en la misma componente conexa
+     * @throws IllegalArgumentException si alguno de los vértices no pertenece
+     * al grafo
+     */
+    public boolean conectados(Vertice a, Vertice b) {
+        return componentes().conectados(idComponente(a), idComponente(b));
+    }
+
+    /**
+     * Indica la cantidad de componentes conexas del grafo. Un vértice sin
+     * aristas forma una componente por sí solo.
+     *
+     * @return la cantidad de componentes conexas
+     */
+    public int cantidadComponentes() {
+        return componentes().cantidadConjuntos();
+    }
+
+    /**
+     * Indica la cantidad de vértices de la componente conexa de un vértice.
+     *
+     * @param vertice vértice de la componente
+     * @return la cantidad de vértices de su componente, incluido él mismo
+     * @throws IllegalArgumentException si el vértice no pertenece al grafo
+     */
+    public int tamanioComponente(Vertice vertice) {
+        return componentes().tamanio(idComponente(vertice));
+    }
+
+    /**
+     * Calcula el tamaño de cada componente conexa del grafo.
+     *
+     * @return La cantidad de vértices de cada componente, en el orden en que
+     * aparece su primer vértice en la lista de vértices.
+     */
+    public int[] tamaniosComponentes() {
+        ConjuntosDisjuntos conjuntos = componentes();
+        int[] tamanios = new int[conjuntos.cantidadConjuntos()];
+        boolean[] contadas = new boolean[conjuntos.size()];
+        int i = 0;
+        for (Vertice v : vertices) {
+            int raiz = conjuntos.buscar(idsComponentes.get(v));
+            if (!contadas[raiz]) {
+                contadas[raiz] = true;
+                tamanios[i++] = conjuntos.tamanio(raiz);
             }
         }
-        limpiarVisitados();
-        return cont;
+        return tamanios;
     }
 
     /**
-     * Obtiene el vértice que no haya sido visitado para evaluarlo en los dos
-     * métodos de recorrido del grafo.
+     * Etiqueta en paralelo las componentes conexas de la instantánea actual
+     * del grafo. Pensado para análisis de grafos grandes completos; para
+     * consultas sueltas conviene {@link #conectados(Vertice, Vertice)}.
+     *
+     * @return La etiqueta de la componente de cada vértice, indexada por su
+     * identificador en la instantánea; ver {@link #snapshot()}.
+     * @see ComponentesConexas
+     */
+    public int[] etiquetasComponentes() {
+        return new ComponentesConexas(snapshot()).etiquetas();
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas de la instantánea actual
+     * del grafo con el algoritmo de Tarjan iterativo.
+     *
+     * @return Las componentes, indexadas por el identificador de cada vértice
+     * en la instantánea, y su grafo de condensación.
+     * @see ComponentesFuertes#tarjan()
+     */
+    public Condensacion componentesFuertes() {
+        return new ComponentesFuertes(snapshot()).tarjan();
+    }
+
+    /**
+     * Calcula las componentes fuertemente conexas de la instantánea actual
+     * del grafo en paralelo. El resultado es el mismo que el de
+     * {@link #componentesFuertes()}.
+     *
+     * @return Las componentes, indexadas por el identificador de cada vértice
+     * en la instantánea, y su grafo de condensación.
+     * @see ComponentesFuertes#adelanteAtras()
+     */
+    public Condensacion componentesFuertesParalelo() {
+        return new ComponentesFuertes(snapshot()).adelanteAtras();
+    }
+
+    /**
+     * Calcula en paralelo el PageRank de la instantánea actual del grafo con
+     * los parámetros por defecto de {@link PageRank}.
+     *
+     * @return El rango de cada vértice, indexado por su identificador en la
+     * instantánea.
+     */
+    public ResultadoPageRank pageRank() {
+        return new PageRank(snapshot()).calcular();
+    }
+
+    /**
+     * Calcula en paralelo el PageRank de la instantánea actual del grafo.
+     *
+     * @param amortiguacion probabilidad de seguir una arista en cada paso,
+     * entre 0 y 1
+     * @param tolerancia diferencia total entre dos iteraciones por debajo de
+     * la cual se considera que los rangos convergieron
+     * @param iteracionesMaximas límite de iteraciones
+     * @return El rango de cada vértice, indexado por su identificador en la
+     * instantánea.
+     * @throws IllegalArgumentException si algún parámetro no es válido
+     */
+    public ResultadoPageRank pageRank(double amortiguacion, double tolerancia, int iteracionesMaximas) {
+        return new PageRank(snapshot(), amortiguacion, tolerancia, iteracionesMaximas).calcular();
+    }
+
+    /**
+     * Calcula en paralelo la intermediación exacta de cada vértice de la
+     * instantánea actual del grafo. Cuesta O(V·E); en grafos grandes conviene
+     * {@link #intermediacionMuestreada(boolean, int, long)}.
+     *
+     * @param ponderada si los caminos mínimos se miden con los pesos de las
+     * aristas en lugar de con la cantidad de aristas
+     * @return La intermediación de cada vértice, indexada por su
+     * identificador en la instantánea.
+     * @throws IllegalArgumentException si es ponderada y algún peso no es
+     * positivo
+     * @see Intermediacion
+     */
+    public ResultadoIntermediacion intermediacion(boolean ponderada) {
+        return new Intermediacion(snapshot(), ponderada).exacta();
+    }
+
+    /**
+     * Estima en paralelo la intermediación de cada vértice de la instantánea
+     * actual del grafo a partir de una muestra de fuentes al azar.
+     *
+     * @param ponderada si los caminos mínimos se miden con los pesos de las
+     * aristas en lugar de con la cantidad de aristas
+     * @param muestras cantidad de fuentes
+     * @param semilla semilla del generador con el que se eligen las fuentes
+     * @return La intermediación estimada de cada vértice, indexada por su
+     * identificador en la instantánea, y su cota de error.
+     * @throws IllegalArgumentException si es ponderada y algún peso no es
+     * positivo, o si la cantidad de muestras no es positiva
+     */
+    public ResultadoIntermediacion intermediacionMuestreada(boolean ponderada, int muestras, long semilla) {
+        return new Intermediacion(snapshot(), ponderada).muestreada(muestras, semilla);
+    }
+
+    /**
+     * Cuenta en paralelo los triángulos de la instantánea actual del grafo,
+     * sin tener en cuenta el sentido de las aristas.
+     *
+     * @return Los triángulos de cada vértice, indexados por su identificador
+     * en la instantánea, y los coeficientes de agrupamiento.
+     * @see Triangulos
+     */
+    public ResultadoTriangulos triangulos() {
+        return new Triangulos(snapshot()).contar();
+    }
+
+    /**
+     * Devuelve las componentes conexas, reconstruyéndolas a partir de las
+     * listas de vértices y aristas si alguna eliminación las invalidó.
+     *
+     * @return las componentes del grafo actual
+     */
+    private ConjuntosDisjuntos componentes() {
+        if (!componentesVigentes) {
+            componentes.clear();
+            idsComponentes.clear();
+            for (Vertice v : vertices) {
+                idsComponentes.put(v, componentes.agregar());
+            }
+            for (Arista a : aristas) {
+                unirComponentes(a);
+            }
+            componentesVigentes = true;
+        }
+        return componentes;
+    }
+
+    /**
+     * Une las componentes de los extremos de una arista, si los dos son
+     * vértices del grafo.
+     *
+     * @param arista arista que se agregó al grafo
+     */
+    private void unirComponentes(Arista arista) {
+        Integer origen = idsComponentes.get(arista.getOrigen());
+        Integer destino = idsComponentes.get(arista.getDestino());
+        if (origen != null && destino != null) {
+            componentes.unir(origen, destino);
+        }
+    }
+
+    /**
+     * Obtiene el identificador de un vértice en las componentes conexas.
+     *
+     * @param vertice vértice buscado
+     * @return su identificador en {@link #componentes}
+     * @throws IllegalArgumentException si el vértice no pertenece al grafo
+     */
+    private int idComponente(Vertice vertice) {
+        Integer id = contieneElVertice(vertice) ? idsComponentes.get(vertice) : null;
+        if (id == null) {
+            throw new IllegalArgumentException("El " + vertice + " no pertenece al grafo");
+        }
+        return id;
+    }
+
+    /**
+     * Obtiene el identificador de un vértice en una instantánea.
+     *
+     * @param grafo instantánea del grafo
+     * @param vertice vértice buscado
+     * @return su identificador en la instantánea
+     * @throws IllegalArgumentException si el vértice no pertenece al grafo
+     */
+    private static int idDe(GrafoCSR grafo, Vertice vertice) {
+        int id = grafo.getId(vertice);
+        if (id < 0) {
+            throw new IllegalArgumentException("El " + vertice + " no pertenece al grafo");
+        }
+        return id;
+    }
+
+    /**
+     * Obtiene el vértice adyacente que no haya sido marcado como visitado en
+     * el campo {@code visitado} de los vértices. Los recorridos del grafo ya
+     * no usan esa marca; ver {@link Recorrido}.
      *
      * @param v Vértica a evaluar
      * @return El vértice que no ha sido visitado. Null si todos ya fueron
      * visitados.
      */
     public Vertice getNoVisitado(Vertice v) {
-        for (int i = 0; i < vertices.size(); i++) {
-            if (v.getVecinos().contains(vertices.get(i)) && (vertices.get(i).getVisitado() == false)) {
-                return vertices.get(i);
+        int grado = dirigido ? v.gradoSalida() : v.tamanioEnlaces();
+        for (int i = 0; i < grado; i++) {
+            Arista arista = dirigido ? v.getSaliente(i) : v.getArista(i);
+            Vertice adyacente = arista.getAdyacente(v);
+            if (!adyacente.getVisitado()) {
+                return adyacente;
             }
         }
         return null;
@@ -274,7 +960,77 @@ public class ListaAdyacencia {
         }
     }
 
+    /**
+     * Congela el estado actual del grafo en una instantánea {@link GrafoCSR}
+     * con adyacencias en arreglos primitivos. Los cambios que se hagan después
+     * en el grafo no se reflejan en la instantánea. Mientras el grafo no se
+     * modifique, se devuelve la misma instantánea.
+     *
+     * @return La instantánea del grafo.
+     */
+    public GrafoCSR snapshot() {
+        GrafoCSR actual = instantanea;
+        if (actual == null || actual.epoca != epoca) {
+            actual = new GrafoCSR(vertices, dirigido, epoca);
+            instantanea = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Devuelve el resultado guardado de una consulta sobre una instantánea o,
+     * si no está, lo calcula sobre ella y lo guarda en {@link #consultas}. El
+     * resultado se guarda con la época de la instantánea y no con la del
+     * grafo, así que nunca queda asociado a una época distinta de la de los
+     * datos con los que se calculó. Un resultado solo se invalida cuando
+     * cambia la época; ver {@link #getEpoca()}.
+     *
+     * @param <T> tipo del resultado, que debe ser inmutable
+     * @param grafo instantánea sobre la que se hace la consulta
+     * @param consulta nombre de la consulta
+     * @param parametros parámetros de la consulta
+     * @param calculo calcula el resultado a partir de la instantánea
+     * @param medida estima el tamaño del resultado en elementos
+     * @return el resultado de la consulta
+     */
+    private <T> T consultar(GrafoCSR grafo, String consulta, Object[] parametros, Function<GrafoCSR, T> calculo,
+            ToLongFunction<? super T> medida) {
+        return consultas.obtener(consulta, grafo.epoca, parametros, () -> calculo.apply(grafo), medida);
+    }
+
+    /**
+     * Indica si el grafo es dirigido.
+     *
+     * @return verdadero si cada arista solo va de su origen a su destino
+     */
+    public boolean esDirigido() {
+        return dirigido;
+    }
+
     //Getters
+    /**
+     * Devuelve la época del grafo, que aumenta con cada inserción o
+     * eliminación de un vértice o una arista y con cada cambio de peso hecho
+     * con {@link #cambiarPeso(Vertice, Vertice, int)}. Los cambios hechos
+     * directamente sobre un vértice o una arista no la aumentan; después de
+     * ellos hay que llamar a {@link #marcarModificado()}.
+     *
+     * @return la época actual
+     */
+    public long getEpoca() {
+        return epoca;
+    }
+
+    /**
+     * Devuelve la caché de las consultas del grafo, con sus contadores de
+     * aciertos, fallos y desalojos.
+     *
+     * @return la caché de consultas
+     */
+    public CacheConsultas getCacheConsultas() {
+        return consultas;
+    }
+
     public Vertice getVertice(int index) {
         Vertice buscado = vertices.get(index);
         return buscado != null ? buscado : null;
@@ -0,0 +1,213 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Montículo de mínimos d-ario indexado por identificador. Guarda enteros entre
+ * 0 y una capacidad fija, cada uno con una clave de tipo {@code long}, y sabe
+ * en qué posición del arreglo está cada identificador. Eso permite disminuir
+ * la clave de un elemento que ya está en el montículo sin insertarlo de
+ * nuevo, que es lo que necesita el algoritmo de Dijkstra.
+ *
+ * Con aridad mayor que dos el montículo es menos profundo: disminuir una
+ * clave hace menos comparaciones y extraer el mínimo revisa más hijos por
+ * nivel, lo que conviene en grafos con más aristas que vértices.
+ *
+ * @author Michael González
+ */
+public final class MonticuloIndexado {
+
+    private final int aridad;
+    private final int[] elementos;
+    private final int[] posiciones;
+    private final long[] claves;
+    private int tamanio;
+
+    /**
+     * Constructor que crea un montículo 4-ario.
+     *
+     * @param capacidad cantidad de identificadores distintos que puede guardar
+     */
+    public MonticuloIndexado(int capacidad) {
+        this(capacidad, 4);
+    }
+
+    /**
+     * Constructor que permite elegir la aridad.
+     *
+     * @param capacidad cantidad de identificadores distintos que puede guardar
+     * @param aridad cantidad de hijos de cada nodo del montículo
+     */
+    public MonticuloIndexado(int capacidad, int aridad) {
+        if (aridad < 2) {
+            throw new IllegalArgumentException("La aridad debe ser al menos 2");
+        }
+        this.aridad = aridad;
+        this.elementos = new int[capacidad];
+        this.posiciones = new int[capacidad];
+        this.claves = new long[capacidad];
+        Arrays.fill(posiciones, -1);
+    }
+
+    /**
+     * Indica si el montículo está vacío.
+     *
+     * @return verdadero o falso si no tiene elementos
+     */
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Indica la cantidad de elementos del montículo.
+     *
+     * @return el tamaño del montículo
+     */
+    public int size() {
+        return tamanio;
+    }
+
+    /**
+     * Indica si el identificador está en el montículo.
+     *
+     * @param id identificador a comprobar
+     * @return verdadero si está en el montículo
+     */
+    public boolean contains(int id) {
+        return posiciones[id] >= 0;
+    }
+
+    /**
+     * Devuelve la clave actual de un identificador que está en el montículo.
+     *
+     * @param id identificador del elemento
+     * @return su clave
+     */
+    public long clave(int id) {
+        return claves[id];
+    }
+
+    /**
+     * Inserta un identificador con la clave indicada o, si ya está, le asigna
+     * esa clave cuando es menor que la actual.
+     *
+     * @param id identificador del elemento
+     * @param clave prioridad del elemento; menor sale primero
+     * @return verdadero si se insertó o se disminuyó la clave
+     */
+    public boolean insertarODisminuir(int id, long clave) {
+        int posicion = posiciones[id];
+        if (posicion < 0) {
+            claves[id] = clave;
+            subir(tamanio++, id);
+            return true;
+        }
+        if (clave < claves[id]) {
+            claves[id] = clave;
+            subir(posicion, id);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve el identificador con la menor clave sin sacarlo.
+     *
+     * @return el identificador con la menor clave
+     * @throws NoSuchElementException si el montículo está vacío
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("El montículo esta vacio");
+        }
+        return elementos[0];
+    }
+
+    /**
+     * Saca y devuelve el identificador con la menor clave. Su clave se puede
+     * seguir consultando con {@link #clave(int)}.
+     *
+     * @return el identificador con la menor clave
+     * @throws NoSuchElementException si el montículo está vacío
+     */
+    public int pop() {
+        int minimo = peek();
+        posiciones[minimo] = -1;
+        tamanio--;
+        if (tamanio > 0) {
+            bajar(0, elementos[tamanio]);
+        }
+        return minimo;
+    }
+
+    /**
+     * Vacía el montículo para reutilizarlo.
+     */
+    public void clear() {
+        for (int i = 0; i < tamanio; i++) {
+            posiciones[elementos[i]] = -1;
+        }
+        tamanio = 0;
+    }
+
+    /**
+     * Sube el elemento desde la posición indicada mientras su clave sea menor
+     * que la de su padre.
+     *
+     * @param posicion posición donde se empieza
+     * @param id identificador que se está colocando
+     */
+    private void subir(int posicion, int id) {
+        long clave = claves[id];
+        while (posicion > 0) {
+            int padre = (posicion - 1) / aridad;
+            int idPadre = elementos[padre];
+            if (claves[idPadre] <= clave) {
+                break;
+            }
+            elementos[posicion] = idPadre;
+            posiciones[idPadre] = posicion;
+            posicion = padre;
+        }
+        elementos[posicion] = id;
+        posiciones[id] = posicion;
+    }
+
+    /**
+     * Baja el elemento desde la posición indicada mientras alguno de sus hijos
+     * tenga una clave menor.
+     *
+     * @param posicion posición donde se empieza
+     * @param id identificador que se está colocando
+     */
+    private void bajar(int posicion, int id) {
+        long clave = claves[id];
+        while (true) {
+            int primerHijo = posicion * aridad + 1;
+            if (primerHijo >= tamanio) {
+                break;
+            }
+            int ultimoHijo = Math.min(primerHijo + aridad, tamanio);
+            int menor = primerHijo;
+            long claveMenor = claves[elementos[primerHijo]];
+            for (int hijo = primerHijo + 1; hijo < ultimoHijo; hijo++) {
+                long claveHijo = claves[elementos[hijo]];
+                if (claveHijo < claveMenor) {
+                    menor = hijo;
+                    claveMenor = claveHijo;
+                }
+            }
+            if (claveMenor >= clave) {
+                break;
+            }
+            int idMenor = elementos[menor];
+            elementos[posicion] = idMenor;
+            posiciones[idMenor] = posicion;
+            posicion = menor;
+        }
+        elementos[posicion] = id;
+        posiciones[id] = posicion;
+    }
+
+}
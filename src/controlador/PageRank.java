@@ -0,0 +1,177 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * PageRank en paralelo sobre una instantánea {@link GrafoCSR}. El rango de un
+ * vértice es la probabilidad de encontrarse en él durante un paseo al azar
+ * que en cada paso sigue una arista saliente con probabilidad igual al factor
+ * de amortiguación, o salta a un vértice cualquiera en caso contrario.
+ *
+ * Cada iteración recoge en lugar de repartir: cada vértice suma los aportes
+ * de los orígenes de sus arcos de entrada, así que cada hilo solo escribe en
+ * los vértices de su parte del rango y no hacen falta operaciones atómicas.
+ * El aporte de un vértice es su rango dividido entre su grado de salida, y se
+ * calcula una vez por iteración en lugar de una vez por arco. Los vértices
+ * sin aristas salientes reparten su rango entre todos los vértices.
+ *
+ * Los rangos viven en dos arreglos que se intercambian al final de cada
+ * iteración, así que las iteraciones no reservan memoria para ellos. Se
+ * itera hasta que la suma de las diferencias absolutas entre dos iteraciones
+ * queda por debajo de la tolerancia o se llega al límite de iteraciones.
+ *
+ * @author Michael González
+ */
+public final class PageRank {
+
+    /**
+     * Factor de amortiguación que se usa si no se indica otro.
+     */
+    public static final double AMORTIGUACION = 0.85;
+    /**
+     * Tolerancia que se usa si no se indica otra.
+     */
+    public static final double TOLERANCIA = 1e-6;
+    /**
+     * Límite de iteraciones que se usa si no se indica otro.
+     */
+    public static final int ITERACIONES_MAXIMAS = 100;
+    /**
+     * Cantidad mínima de vértices que se le asigna a cada tarea.
+     */
+    private static final int TROZO_MINIMO = 4096;
+
+    private final GrafoCSR grafo;
+    private final double amortiguacion;
+    private final double tolerancia;
+    private final int iteracionesMaximas;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor con los parámetros por defecto y el pool común de la
+     * máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public PageRank(GrafoCSR grafo) {
+        this(grafo, AMORTIGUACION, TOLERANCIA, ITERACIONES_MAXIMAS);
+    }
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     * @param amortiguacion probabilidad de seguir una arista en cada paso
+     * @param tolerancia diferencia total entre dos iteraciones por debajo de
+     * la cual se considera que los rangos convergieron
+     * @param iteracionesMaximas límite de iteraciones
+     */
+    public PageRank(GrafoCSR grafo, double amortiguacion, double tolerancia, int iteracionesMaximas) {
+        this(grafo, amortiguacion, tolerancia, iteracionesMaximas, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea del grafo
+     * @param amortiguacion probabilidad de seguir una arista en cada paso,
+     * entre 0 y 1
+     * @param tolerancia diferencia total entre dos iteraciones por debajo de
+     * la cual se considera que los rangos convergieron
+     * @param iteracionesMaximas límite de iteraciones
+     * @param pool hilos entre los que se reparten los vértices
+     * @throws IllegalArgumentException si la amortiguación no está entre 0 y
+     * 1, la tolerancia es negativa o el límite de iteraciones no es positivo
+     */
+    public PageRank(GrafoCSR grafo, double amortiguacion, double tolerancia, int iteracionesMaximas, ForkJoinPool pool) {
+        if (!(amortiguacion >= 0 && amortiguacion <= 1)) {
+            throw new IllegalArgumentException("La amortiguación debe estar entre 0 y 1: " + amortiguacion);
+        }
+        if (!(tolerancia >= 0)) {
+            throw new IllegalArgumentException("La tolerancia no puede ser negativa: " + tolerancia);
+        }
+        if (iteracionesMaximas <= 0) {
+            throw new IllegalArgumentException("El límite de iteraciones debe ser positivo");
+        }
+        this.grafo = grafo;
+        this.amortiguacion = amortiguacion;
+        this.tolerancia = tolerancia;
+        this.iteracionesMaximas = iteracionesMaximas;
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula el rango de cada vértice.
+     *
+     * @return los rangos, que suman 1, y las iteraciones que se hicieron
+     */
+    public ResultadoPageRank calcular() {
+        int n = grafo.cantidadVertices();
+        if (n == 0) {
+            return new ResultadoPageRank(new double[0], 0, 0, true);
+        }
+        int[] desplazamientosEntrada = grafo.desplazamientosEntrada;
+        int[] origenes = grafo.origenes;
+        //Inverso del grado de salida; los vértices sin salida se guardan aparte
+        double[] inversos = new double[n];
+        int cantidadColgantes = 0;
+        for (int v = 0; v < n; v++) {
+            int grado = grafo.grado(v);
+            if (grado == 0) {
+                cantidadColgantes++;
+            } else {
+                inversos[v] = 1.0 / grado;
+            }
+        }
+        int[] colgantes = new int[cantidadColgantes];
+        cantidadColgantes = 0;
+        for (int v = 0; v < n; v++) {
+            if (grafo.grado(v) == 0) {
+                colgantes[cantidadColgantes++] = v;
+            }
+        }
+        double[] rangos = new double[n];
+        double[] siguientes = new double[n];
+        double[] aportes = new double[n];
+        Arrays.fill(rangos, 1.0 / n);
+        DoubleAdder diferencia = new DoubleAdder();
+        int iteraciones = 0;
+        double error = Double.POSITIVE_INFINITY;
+        while (iteraciones < iteracionesMaximas && error >= tolerancia) {
+            double[] actuales = rangos;
+            double[] nuevos = siguientes;
+            RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+                for (int v = desde; v < hasta; v++) {
+                    aportes[v] = actuales[v] * inversos[v];
+                }
+            });
+            double masaColgante = 0;
+            for (int v : colgantes) {
+                masaColgante += actuales[v];
+            }
+            double base = (1 - amortiguacion + amortiguacion * masaColgante) / n;
+            diferencia.reset();
+            RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+                double parcial = 0;
+                for (int v = desde; v < hasta; v++) {
+                    double suma = 0;
+                    for (int arco = desplazamientosEntrada[v]; arco < desplazamientosEntrada[v + 1]; arco++) {
+                        suma += aportes[origenes[arco]];
+                    }
+                    double nuevo = base + amortiguacion * suma;
+                    parcial += Math.abs(nuevo - actuales[v]);
+                    nuevos[v] = nuevo;
+                }
+                diferencia.add(parcial);
+            });
+            error = diferencia.sum();
+            rangos = nuevos;
+            siguientes = actuales;
+            iteraciones++;
+        }
+        return new ResultadoPageRank(rangos, iteraciones, error, error < tolerancia);
+    }
+
+}
@@ -1,25 +1,42 @@
 package controlador;
 
-import modelo.Nodo;
+import java.util.Arrays;
 
 /**
  * Estructura de datos que crea una Pila en la que se van a almacenar datos del
  * tipo especificado. Esta clase se asemeja en estructura a la clase
- * {@code Stack} derivada de la interfaz {@code Collection}.
+ * {@code Stack} derivada de la interfaz {@code Collection}. Los elementos se
+ * guardan en un arreglo que duplica su tamaño cuando se llena; la cima es la
+ * última posición ocupada.
  *
  * @author Michael González
  * @param <T> Tipo de los elementos que se almacenarán en la Pila.
  */
 public class Pila<T> {
 
-    private Nodo<T> top;
+    /**
+     * Capacidad con la que se crea el arreglo cuando no se especifica otra.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Object[] elementos;
     private int tamanio;
 
     /**
      * Constructor que inicializa los campos.
      */
     public Pila() {
-        this.top = null;
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     *
+     * @param capacidad cantidad de elementos que se podrán apilar sin
+     * redimensionar el arreglo.
+     */
+    public Pila(int capacidad) {
+        this.elementos = new Object[Math.max(capacidad, 1)];
         this.tamanio = 0;
     }
 
@@ -29,7 +46,7 @@ public class Pila<T> {
      * @return
      */
     public boolean isEmpty() {
-        return top == null;
+        return tamanio == 0;
     }
 
     /**
@@ -41,13 +58,25 @@ public class Pila<T> {
         return this.tamanio;
     }
 
+    /**
+     * Devuelve el elemento de la posición indicada contando desde la cima, sin
+     * validar el índice.
+     *
+     * @param index posición contada desde la cima
+     * @return el elemento en esa posición
+     */
+    @SuppressWarnings("unchecked")
+    private T elemento(int index) {
+        return (T) elementos[tamanio - 1 - index];
+    }
+
     /**
      * Devuelve el elemento que esta más arriba en la pila.
      *
      * @return
      */
     public T peek() {
-        return !isEmpty() ? top.getDato() : null;
+        return !isEmpty() ? elemento(0) : null;
     }
 
     /**
@@ -58,18 +87,15 @@ public class Pila<T> {
     public T pop() {
         if (isEmpty()) {
             return null;
-        } else {
-            T elemento = top.getDato();
-            Nodo<T> aux = top.getSiguiente();
-            top = null; //marco para borrar
-            top = aux; //actualizo el top
-            this.tamanio--;
-            return elemento;
         }
+        T elemento = elemento(0);
+        elementos[--tamanio] = null; //marco para borrar
+        return elemento;
     }
 
     /**
-     * Elimina el nodo de la pila en la posicion especificada.
+     * Elimina el elemento de la pila en la posicion especificada, contada
+     * desde la cima.
      *
      * @param index índice que se va a elminiar
      * @return el elemento eliminado. Nulo si la lista está vacía.
@@ -79,27 +105,13 @@ public class Pila<T> {
             return null;
         } else if (index == 0) {
             return pop();
-        } else {
-
-            //Cojo el nodo anterior al que quiero borrar
-            Nodo<T> nodo_anterior = getNode(index - 1);
-
-            //Cojo el nodo que quiero borrar
-            Nodo<T> nodo_actual = getNode(index);
-
-            //Cojo el elemento antes de borrar
-            T elemento = nodo_actual.getDato();
-
-            //Cojo el nodo siguiente al que quiero borrar
-            Nodo<T> nodo_siguiente = nodo_actual.getSiguiente();
-
-            //El nodo anterior apunta al nodo siguiente
-            nodo_anterior.setSiguiente(nodo_siguiente);
-
-            tamanio--;
-            return elemento;
-
         }
+        int posicion = tamanio - 1 - index;
+        T elemento = elemento(index);
+        //Bajo una posición los elementos que estaban encima
+        System.arraycopy(elementos, posicion + 1, elementos, posicion, index);
+        elementos[--tamanio] = null;
+        return elemento;
     }
 
     /**
@@ -109,10 +121,20 @@ public class Pila<T> {
      * @return
      */
     public T push(T elemento) {
-        Nodo<T> aux = new Nodo<>(elemento, top);
-        top = aux; //actualizo el top
-        this.tamanio++;
-        return aux.getDato();
+        if (tamanio == elementos.length) {
+            elementos = Arrays.copyOf(elementos, elementos.length << 1);
+        }
+        elementos[tamanio++] = elemento; //actualizo el top
+        return elemento;
+    }
+
+    /**
+     * Vacía la pila. Se conserva el arreglo para poder volver a usarla sin
+     * reservar memoria.
+     */
+    public void clear() {
+        Arrays.fill(elementos, 0, tamanio, null);
+        tamanio = 0;
     }
 
     /**
@@ -121,22 +143,19 @@ public class Pila<T> {
      * @return Contador con el contenido de la pila.
      */
     public String print() {
-        String resultado = "";
-        if (!isEmpty()) {
-            Nodo<T> aux = top;
-            //Recorro la pila
-            while (aux != null) {
-                resultado += aux.getDato().toString();
-                aux = aux.getSiguiente();
-            }
-        } else {
-            resultado = "La pila esta vacia";
+        if (isEmpty()) {
+            return "La pila esta vacia";
+        }
+        StringBuilder resultado = new StringBuilder();
+        //Recorro la pila desde la cima
+        for (int i = 0; i < tamanio; i++) {
+            resultado.append(elemento(i).toString());
         }
-        return resultado;
+        return resultado.toString();
     }
 
     /**
-     * Obtiene el objeto en el índice especificado.
+     * Obtiene el objeto en el índice especificado, contado desde la cima.
      *
      * @param index Índice ingresado
      * @return Objeto requerido
@@ -145,52 +164,19 @@ public class Pila<T> {
         if (index < 0 || index >= size()) {
             return null;
         }
-        Nodo<T> actual = top;
-        for (int i = 0; i < index; i++) {
-            actual = actual.getSiguiente();
-        }
-        return actual.getDato();
-    }
-
-    /**
-     * Método para obtener un nodo de la lista. Si está vacío o el índice no es
-     * correcto, devuelve un valor nulo.
-     *
-     * @param index recibe el índice especificado
-     * @return el nodo completo de una posicion especificada
-     */
-    private Nodo<T> getNode(int index) {
-        if (isEmpty() || (index < 0 || index >= size())) {
-            return null;
-        } else if (index == 0) {
-            return top;
-        } else {
-            Nodo<T> buscado = top;
-            int contador = 0;
-            while (contador < index) {
-                contador++;
-                buscado = buscado.getSiguiente();
-            }
-            return buscado;
-        }
+        return elemento(index);
     }
 
     /**
-     * Indica la posición del elemento especificado.
+     * Indica la posición del elemento especificado, contada desde la cima.
      *
      * @param elemento
      * @return
      */
     public int indexOf(T elemento) {
-        if (!isEmpty()) {
-            Nodo<T> aux = top;
-            int posicion = 0;
-            while (aux != null) {
-                if (elemento.equals(aux.getDato())) {
-                    return posicion;
-                }
-                posicion++;
-                aux = aux.getSiguiente();
+        for (int i = 0; i < tamanio; i++) {
+            if (elemento.equals(elemento(i))) {
+                return i;
             }
         }
         return -1;
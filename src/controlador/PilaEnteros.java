@@ -0,0 +1,116 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pila de enteros primitivos sobre un arreglo que duplica su tamaño cuando se
+ * llena. Está pensada para los recorridos sobre identificadores de vértices:
+ * no crea un objeto por elemento y, gracias a {@link #clear()}, el mismo
+ * arreglo se puede reutilizar entre recorridos.
+ *
+ * @author Michael González
+ * @see Pila
+ */
+public class PilaEnteros {
+
+    private int[] elementos;
+    private int tamanio;
+
+    /**
+     * Constructor que inicializa la pila con la capacidad por defecto.
+     */
+    public PilaEnteros() {
+        this(16);
+    }
+
+    /**
+     * Constructor que reserva espacio para la cantidad de elementos indicada.
+     *
+     * @param capacidad cantidad de elementos que se podrán apilar sin
+     * redimensionar el arreglo.
+     */
+    public PilaEnteros(int capacidad) {
+        this.elementos = new int[Math.max(capacidad, 1)];
+        this.tamanio = 0;
+    }
+
+    /**
+     * Indica si la pila está vacía.
+     *
+     * @return verdadero o falso si la pila está vacía.
+     */
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Indica el tamaño de la pila.
+     *
+     * @return cantidad de elementos apilados
+     */
+    public int size() {
+        return tamanio;
+    }
+
+    /**
+     * Devuelve el elemento que está en la cima sin sacarlo.
+     *
+     * @return El elemento de la cima.
+     * @throws NoSuchElementException si la pila está vacía
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("La pila esta vacia");
+        }
+        return elementos[tamanio - 1];
+    }
+
+    /**
+     * Saca y devuelve el elemento de la cima.
+     *
+     * @return El elemento de la cima.
+     * @throws NoSuchElementException si la pila está vacía
+     */
+    public int pop() {
+        int elemento = peek();
+        tamanio--;
+        return elemento;
+    }
+
+    /**
+     * Mete un elemento a la pila. Si el arreglo está lleno, se duplica su
+     * tamaño.
+     *
+     * @param elemento El entero que se va a apilar.
+     */
+    public void push(int elemento) {
+        if (tamanio == elementos.length) {
+            elementos = Arrays.copyOf(elementos, elementos.length << 1);
+        }
+        elementos[tamanio++] = elemento;
+    }
+
+    /**
+     * Obtiene el elemento de la posición indicada, contada desde la cima.
+     * Sirve para recorrer la pila sin sacar sus elementos.
+     *
+     * @param index posición del elemento
+     * @return el elemento en esa posición
+     * @throws IndexOutOfBoundsException si el índice no es correcto
+     */
+    public int get(int index) {
+        if (index < 0 || index >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + tamanio);
+        }
+        return elementos[tamanio - 1 - index];
+    }
+
+    /**
+     * Vacía la pila conservando el arreglo reservado.
+     */
+    public void clear() {
+        tamanio = 0;
+    }
+
+}
@@ -0,0 +1,24 @@
+package controlador;
+
+/**
+ * Recibe el avance de una importación de {@link ImportadorAristas}. Permite
+ * mostrar el progreso de archivos grandes y cancelar la importación.
+ *
+ * @author Michael González
+ */
+public interface ProgresoImportacion {
+
+    /**
+     * Se llama cada vez que se inserta un lote de aristas, después de cada
+     * bloque leído del archivo y al terminar el archivo.
+     *
+     * @param bytesLeidos bytes del archivo procesados hasta ahora
+     * @param bytesTotales tamaño del archivo en bytes
+     * @param aristasLeidas aristas leídas hasta ahora, se hayan insertado o
+     * no
+     * @return verdadero para continuar; falso para cancelar la importación.
+     * Los lotes ya insertados quedan en el grafo.
+     */
+    boolean avance(long bytesLeidos, long bytesTotales, long aristasLeidas);
+
+}
@@ -0,0 +1,86 @@
+package controlador;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reparte un rango de índices entre los hilos de un {@link ForkJoinPool}. El
+ * rango se divide a la mitad hasta que cada parte queda por debajo de un
+ * umbral, de modo que los hilos que terminan antes pueden robar las partes
+ * que faltan.
+ *
+ * @author Michael González
+ */
+final class RangoParalelo {
+
+    /**
+     * Trabajo que se hace sobre una parte del rango.
+     */
+    interface Cuerpo {
+
+        /**
+         * Procesa los índices de una parte del rango.
+         *
+         * @param desde primer índice de la parte
+         * @param hasta índice siguiente al último de la parte
+         */
+        void procesar(int desde, int hasta);
+
+    }
+
+    private RangoParalelo() {
+    }
+
+    /**
+     * Procesa los índices desde cero hasta la cantidad indicada. Espera a que
+     * todas las partes terminen.
+     *
+     * @param pool hilos entre los que se reparte el rango
+     * @param cantidad cantidad de índices
+     * @param trozoMinimo tamaño mínimo de cada parte; por debajo de este
+     * tamaño no compensa repartir el trabajo
+     * @param cuerpo trabajo que se hace sobre cada parte
+     */
+    static void paraCada(ForkJoinPool pool, int cantidad, int trozoMinimo, Cuerpo cuerpo) {
+        if (cantidad <= 0) {
+            return;
+        }
+        int umbral = Math.max(trozoMinimo, cantidad / (pool.getParallelism() * 4));
+        if (cantidad <= umbral) {
+            cuerpo.procesar(0, cantidad);
+        } else {
+            pool.invoke(new Tarea(cuerpo, 0, cantidad, umbral));
+        }
+    }
+
+    /**
+     * Tarea que divide su parte del rango hasta llegar al umbral.
+     */
+    private static final class Tarea extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final Cuerpo cuerpo;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+
+        Tarea(Cuerpo cuerpo, int desde, int hasta, int umbral) {
+            this.cuerpo = cuerpo;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                cuerpo.procesar(desde, hasta);
+            } else {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Tarea(cuerpo, desde, medio, umbral), new Tarea(cuerpo, medio, hasta, umbral));
+            }
+        }
+
+    }
+
+}
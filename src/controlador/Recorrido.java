@@ -0,0 +1,321 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Motor de recorridos en amplitud (BFS) y en profundidad (DFS) sobre una
+ * instantánea {@link GrafoCSR}. El estado de cada recorrido, como los vértices
+ * ya visitados, se crea dentro de la propia ejecución y se indexa por el
+ * identificador del vértice. Así no se marca nada en los objetos
+ * {@code Vertice} y varios recorridos pueden ejecutarse a la vez, en hilos
+ * distintos, sobre la misma instantánea sin bloqueos ni limpieza posterior.
+ * Quien haga muchos recorridos seguidos en un mismo hilo puede pasarles un
+ * {@link EspacioRecorrido} para reutilizar sus estructuras.
+ *
+ * Los recorridos entregan cada vértice a un {@link VisitanteRecorrido} en
+ * cuanto lo descubren. Los métodos que devuelven un arreglo son adaptadores
+ * que acumulan lo que reciben del visitante.
+ *
+ * @author Michael González
+ */
+public final class Recorrido {
+
+    /**
+     * Instantánea sobre la que se hacen los recorridos.
+     */
+    private final GrafoCSR grafo;
+
+    /**
+     * Constructor que recibe la instantánea que se va a recorrer.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public Recorrido(GrafoCSR grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado, con un espacio de
+     * trabajo propio.
+     *
+     * @param origen identificador del vértice inicial
+     * @return Identificadores de los vértices en el orden en que se visitaron.
+     */
+    public int[] bfs(int origen) {
+        return bfs(origen, new EspacioRecorrido());
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado, reutilizando el
+     * espacio de trabajo recibido.
+     *
+     * @param origen identificador del vértice inicial
+     * @param espacio estado de trabajo que se limpia y se reutiliza
+     * @return Identificadores de los vértices en el orden en que se visitaron.
+     */
+    public int[] bfs(int origen, EspacioRecorrido espacio) {
+        Acumulador acumulador = new Acumulador(grafo.cantidadVertices());
+        bfs(origen, acumulador, espacio);
+        return acumulador.resultado();
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado y entrega cada
+     * vértice al visitante en cuanto se descubre.
+     *
+     * @param origen identificador del vértice inicial
+     * @param visitante recibe los vértices descubiertos
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean bfs(int origen, VisitanteRecorrido visitante) {
+        return bfs(origen, visitante, new EspacioRecorrido());
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado y entrega cada
+     * vértice al visitante en cuanto se descubre. La profundidad se lleva
+     * contando cuántos vértices del nivel actual quedan en la cola, así que no
+     * se necesita ningún arreglo adicional.
+     *
+     * @param origen identificador del vértice inicial
+     * @param visitante recibe los vértices descubiertos
+     * @param espacio estado de trabajo que se limpia y se reutiliza
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean bfs(int origen, VisitanteRecorrido visitante, EspacioRecorrido espacio) {
+        espacio.preparar();
+        BitSet visitados = espacio.visitados;
+        ColaEnteros cola = espacio.cola;
+        visitados.set(origen);
+        if (!visitante.visitar(origen, 0, -1)) {
+            return false;
+        }
+        cola.queue(origen);
+        int profundidad = 0, restantesNivel = 1, siguienteNivel = 0;
+        while (!cola.isEmpty()) {
+            int v = cola.pop();
+            for (int arco = grafo.desplazamientos[v]; arco < grafo.desplazamientos[v + 1]; arco++) {
+                int hijo = grafo.destinos[arco];
+                if (!visitados.get(hijo)) {
+                    visitados.set(hijo);
+                    if (!visitante.visitar(hijo, profundidad + 1, v)) {
+                        return false;
+                    }
+                    cola.queue(hijo);
+                    siguienteNivel++;
+                }
+            }
+            if (--restantesNivel == 0) {
+                profundidad++;
+                restantesNivel = siguienteNivel;
+                siguienteNivel = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recorre el grafo en amplitud desde el vértice indicado y devuelve el
+     * árbol BFS completo: el nivel y el padre de cada vértice.
+     *
+     * @param origen identificador del vértice inicial
+     * @return Los niveles y los padres de cada vértice.
+     * @see BFSDireccional
+     */
+    public ResultadoBFS arbolBfs(int origen) {
+        int n = grafo.cantidadVertices();
+        int[] niveles = new int[n];
+        int[] padres = new int[n];
+        Arrays.fill(niveles, -1);
+        Arrays.fill(padres, -1);
+        long[] examinados = new long[1];
+        bfs(origen, (vertice, profundidad, padre) -> {
+            niveles[vertice] = profundidad;
+            padres[vertice] = padre;
+            examinados[0] += grafo.grado(vertice);
+            return true;
+        });
+        return new ResultadoBFS(niveles, padres, examinados[0]);
+    }
+
+    /**
+     * Recorre el grafo en profundidad desde el vértice indicado, con un
+     * espacio de trabajo propio.
+     *
+     * @param origen identificador del vértice inicial
+     * @return Identificadores de los vértices en el orden en que se visitaron.
+     */
+    public int[] dfs(int origen) {
+        return dfs(origen, new EspacioRecorrido());
+    }
+
+    /**
+     * Recorre el grafo en profundidad desde el vértice indicado, reutilizando
+     * el espacio de trabajo recibido.
+     *
+     * @param origen identificador del vértice inicial
+     * @param espacio estado de trabajo que se limpia y se reutiliza
+     * @return Identificadores de los vértices en el orden en que se visitaron.
+     */
+    public int[] dfs(int origen, EspacioRecorrido espacio) {
+        Acumulador acumulador = new Acumulador(grafo.cantidadVertices());
+        dfs(origen, acumulador, espacio);
+        return acumulador.resultado();
+    }
+
+    /**
+     * Recorre el grafo en profundidad desde el vértice indicado y entrega cada
+     * vértice al visitante en cuanto se descubre.
+     *
+     * @param origen identificador del vértice inicial
+     * @param visitante recibe los vértices descubiertos
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean dfs(int origen, VisitanteRecorrido visitante) {
+        return dfs(origen, visitante, new EspacioRecorrido());
+    }
+
+    /**
+     * Recorre el grafo en profundidad desde el vértice indicado. Cada vértice
+     * apilado guarda un cursor a su siguiente arco por revisar, de modo que al
+     * volver a la cima continúa donde iba y cada arco se examina una sola vez.
+     * El recorrido cuesta O(V + E). La profundidad de cada vértice es la
+     * altura de la pila cuando se descubre.
+     *
+     * @param origen identificador del vértice inicial
+     * @param visitante recibe los vértices descubiertos
+     * @param espacio estado de trabajo que se limpia y se reutiliza
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean dfs(int origen, VisitanteRecorrido visitante, EspacioRecorrido espacio) {
+        espacio.preparar();
+        return dfsDesde(origen, visitante, espacio);
+    }
+
+    /**
+     * Recorre en profundidad todo el grafo, aunque no sea conexo. Se comienza
+     * en el vértice 0 y, cada vez que se termina un árbol, se empieza otro en
+     * el siguiente vértice sin visitar. La raíz de cada árbol llega al
+     * visitante con profundidad 0 y padre -1.
+     *
+     * @param visitante recibe los vértices descubiertos
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean dfsBosque(VisitanteRecorrido visitante) {
+        return dfsBosque(new int[0], visitante, new EspacioRecorrido());
+    }
+
+    /**
+     * Recorre en profundidad todo el grafo, comenzando por los vértices
+     * iniciales indicados, en ese orden. Cuando se agotan, se continúa con los
+     * vértices que sigan sin visitar en orden de identificador.
+     *
+     * @param inicios identificadores de los vértices por los que se comienza
+     * @param visitante recibe los vértices descubiertos
+     * @param espacio estado de trabajo que se limpia y se reutiliza
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    public boolean dfsBosque(int[] inicios, VisitanteRecorrido visitante, EspacioRecorrido espacio) {
+        espacio.preparar();
+        BitSet visitados = espacio.visitados;
+        for (int inicio : inicios) {
+            if (!visitados.get(inicio) && !dfsDesde(inicio, visitante, espacio)) {
+                return false;
+            }
+        }
+        int n = grafo.cantidadVertices();
+        for (int v = visitados.nextClearBit(0); v < n; v = visitados.nextClearBit(v + 1)) {
+            if (!dfsDesde(v, visitante, espacio)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recorre en profundidad el árbol que cuelga del vértice indicado sin
+     * limpiar los vértices visitados por recorridos anteriores del mismo
+     * espacio.
+     *
+     * @param origen identificador de la raíz del árbol
+     * @param visitante recibe los vértices descubiertos
+     * @param espacio estado de trabajo del recorrido
+     * @return verdadero si el recorrido terminó; falso si el visitante lo
+     * detuvo
+     */
+    private boolean dfsDesde(int origen, VisitanteRecorrido visitante, EspacioRecorrido espacio) {
+        BitSet visitados = espacio.visitados;
+        PilaEnteros pila = espacio.pila;
+        int[] cursores = espacio.cursores(grafo.cantidadVertices());
+        int[] desplazamientos = grafo.desplazamientos;
+        int[] destinos = grafo.destinos;
+        visitados.set(origen);
+        if (!visitante.visitar(origen, 0, -1)) {
+            return false;
+        }
+        pila.push(origen);
+        cursores[origen] = desplazamientos[origen];
+        while (!pila.isEmpty()) {
+            int v = pila.peek();
+            int arco = cursores[v];
+            int fin = desplazamientos[v + 1];
+            //Avanzo el cursor hasta el primer vecino sin visitar
+            while (arco < fin && visitados.get(destinos[arco])) {
+                arco++;
+            }
+            if (arco < fin) {
+                int hijo = destinos[arco];
+                cursores[v] = arco + 1;
+                visitados.set(hijo);
+                if (!visitante.visitar(hijo, pila.size(), v)) {
+                    pila.clear();
+                    return false;
+                }
+                pila.push(hijo);
+                cursores[hijo] = desplazamientos[hijo];
+            } else {
+                pila.pop();
+            }
+        }
+        return true;
+    }
+
+    //Getters
+    public GrafoCSR getGrafo() {
+        return grafo;
+    }
+    //End Getters
+
+    /**
+     * Visitante que guarda los vértices en el orden en que llegan. Lo usan los
+     * métodos que devuelven el recorrido completo en un arreglo.
+     */
+    private static final class Acumulador implements VisitanteRecorrido {
+
+        private final int[] orden;
+        private int total;
+
+        Acumulador(int capacidad) {
+            this.orden = new int[capacidad];
+        }
+
+        @Override
+        public boolean visitar(int vertice, int profundidad, int padre) {
+            orden[total++] = vertice;
+            return true;
+        }
+
+        int[] resultado() {
+            return Arrays.copyOf(orden, total);
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package controlador;
+
+/**
+ * Resultado de un recorrido en amplitud completo: el nivel y el padre de cada
+ * vértice en el árbol BFS, además de la cantidad de arcos que se examinaron
+ * para obtenerlo.
+ *
+ * @author Michael González
+ */
+public final class ResultadoBFS {
+
+    private final int[] niveles;
+    private final int[] padres;
+    private final long arcosExaminados;
+
+    /**
+     * Constructor que recibe los arreglos calculados por el recorrido.
+     *
+     * @param niveles distancia en aristas desde el origen; -1 si no se alcanzó
+     * @param padres vértice desde el que se descubrió cada uno; -1 para el
+     * origen y para los no alcanzados
+     * @param arcosExaminados cantidad de arcos revisados durante el recorrido
+     */
+    ResultadoBFS(int[] niveles, int[] padres, long arcosExaminados) {
+        this.niveles = niveles;
+        this.padres = padres;
+        this.arcosExaminados = arcosExaminados;
+    }
+
+    /**
+     * Devuelve el nivel de un vértice.
+     *
+     * @param v identificador del vértice
+     * @return su distancia al origen, o -1 si no es alcanzable
+     */
+    public int nivel(int v) {
+        return niveles[v];
+    }
+
+    /**
+     * Devuelve el padre de un vértice en el árbol BFS.
+     *
+     * @param v identificador del vértice
+     * @return el identificador del padre, o -1 para el origen y los vértices
+     * no alcanzables
+     */
+    public int padre(int v) {
+        return padres[v];
+    }
+
+    //Getters
+    public int[] getNiveles() {
+        return niveles.clone();
+    }
+
+    public int[] getPadres() {
+        return padres.clone();
+    }
+
+    public long getArcosExaminados() {
+        return arcosExaminados;
+    }
+    //End Getters
+
+}
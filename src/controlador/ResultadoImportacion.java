@@ -0,0 +1,77 @@
+package controlador;
+
+/**
+ * Resumen de una importación de {@link ImportadorAristas}.
+ *
+ * @author Michael González
+ */
+public final class ResultadoImportacion {
+
+    private final long lineas;
+    private final long lineasInvalidas;
+    private final long aristasLeidas;
+    private final long aristasInsertadas;
+    private final int verticesNuevos;
+    private final boolean completa;
+
+    /**
+     * Constructor que recibe los contadores de la importación.
+     *
+     * @param lineas líneas leídas, incluidas las vacías y los comentarios
+     * @param lineasInvalidas líneas que no se pudieron interpretar y se
+     * saltaron
+     * @param aristasLeidas aristas encontradas en el archivo
+     * @param aristasInsertadas aristas que se insertaron; las demás estaban
+     * repetidas o eran lazos
+     * @param verticesNuevos vértices que no existían y se crearon
+     * @param completa falso si la importación se canceló antes del final
+     */
+    ResultadoImportacion(long lineas, long lineasInvalidas, long aristasLeidas, long aristasInsertadas,
+            int verticesNuevos, boolean completa) {
+        this.lineas = lineas;
+        this.lineasInvalidas = lineasInvalidas;
+        this.aristasLeidas = aristasLeidas;
+        this.aristasInsertadas = aristasInsertadas;
+        this.verticesNuevos = verticesNuevos;
+        this.completa = completa;
+    }
+
+    /**
+     * Indica si se procesó todo el archivo.
+     *
+     * @return falso si la importación se canceló
+     */
+    public boolean esCompleta() {
+        return completa;
+    }
+
+    @Override
+    public String toString() {
+        return "Líneas: " + lineas + " (" + lineasInvalidas + " inválidas)\n"
+                + "Aristas leídas: " + aristasLeidas + ", insertadas: " + aristasInsertadas + "\n"
+                + "Vértices nuevos: " + verticesNuevos + (completa ? "" : "\nImportación cancelada");
+    }
+
+    //Getters
+    public long getLineas() {
+        return lineas;
+    }
+
+    public long getLineasInvalidas() {
+        return lineasInvalidas;
+    }
+
+    public long getAristasLeidas() {
+        return aristasLeidas;
+    }
+
+    public long getAristasInsertadas() {
+        return aristasInsertadas;
+    }
+
+    public int getVerticesNuevos() {
+        return verticesNuevos;
+    }
+    //End Getters
+
+}
@@ -0,0 +1,88 @@
+package controlador;
+
+/**
+ * Resultado de un cálculo de {@link Intermediacion}: la intermediación de
+ * cada vértice y, si se usó una muestra de fuentes, lo que permite acotar su
+ * error.
+ *
+ * @author Michael González
+ */
+public final class ResultadoIntermediacion {
+
+    private final double[] valores;
+    private final int cantidadVertices;
+    private final int muestras;
+    private final boolean dirigido;
+
+    /**
+     * Constructor que recibe la intermediación calculada.
+     *
+     * @param valores intermediación de cada vértice
+     * @param cantidadVertices cantidad de vértices del grafo
+     * @param muestras cantidad de fuentes que se usaron
+     * @param dirigido si el grafo es dirigido
+     */
+    ResultadoIntermediacion(double[] valores, int cantidadVertices, int muestras, boolean dirigido) {
+        this.valores = valores;
+        this.cantidadVertices = cantidadVertices;
+        this.muestras = muestras;
+        this.dirigido = dirigido;
+    }
+
+    /**
+     * Devuelve la intermediación de un vértice.
+     *
+     * @param v identificador del vértice
+     * @return su intermediación, exacta o estimada
+     */
+    public double valor(int v) {
+        return valores[v];
+    }
+
+    /**
+     * Indica si se usaron todos los vértices como fuente.
+     *
+     * @return verdadero si el resultado es exacto
+     */
+    public boolean esExacta() {
+        return muestras >= cantidadVertices;
+    }
+
+    /**
+     * Calcula una cota del error de la estimación que vale a la vez para
+     * todos los vértices con la confianza indicada. La dependencia de una
+     * fuente en un vértice está entre 0 y n - 2, así que por la desigualdad
+     * de Hoeffding, que también vale para muestras sin repetición, y la cota
+     * de la unión sobre los n vértices, el error es a lo sumo
+     * {@code n (n - 2) sqrt(ln(2n / (1 - confianza)) / (2k))}, con k la
+     * cantidad de muestras. En un grafo no dirigido los valores y la cota se
+     * dividen entre dos.
+     *
+     * @param confianza probabilidad, entre 0 y 1 sin incluirlos, de que
+     * ningún vértice supere la cota
+     * @return la cota del error absoluto, o 0 si el resultado es exacto
+     * @throws IllegalArgumentException si la confianza no está entre 0 y 1
+     */
+    public double cotaError(double confianza) {
+        if (!(confianza > 0 && confianza < 1)) {
+            throw new IllegalArgumentException("La confianza debe estar entre 0 y 1: " + confianza);
+        }
+        if (esExacta()) {
+            return 0;
+        }
+        double n = cantidadVertices;
+        double cota = n * (n - 2) * Math.sqrt(Math.log(2 * n / (1 - confianza)) / (2.0 * muestras));
+        return dirigido ? cota : cota / 2;
+    }
+
+    //Getters
+    public double[] getValores() {
+        return valores.clone();
+    }
+
+    public int getMuestras() {
+        return muestras;
+    }
+    //End Getters
+
+}
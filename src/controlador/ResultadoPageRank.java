@@ -0,0 +1,65 @@
+package controlador;
+
+/**
+ * Resultado de un cálculo de {@link PageRank}: el rango de cada vértice y
+ * cómo terminaron las iteraciones.
+ *
+ * @author Michael González
+ */
+public final class ResultadoPageRank {
+
+    private final double[] rangos;
+    private final int iteraciones;
+    private final double error;
+    private final boolean convergio;
+
+    /**
+     * Constructor que recibe los valores calculados por las iteraciones.
+     *
+     * @param rangos rango de cada vértice
+     * @param iteraciones cantidad de iteraciones que se hicieron
+     * @param error suma de las diferencias absolutas de la última iteración
+     * @param convergio si el error quedó por debajo de la tolerancia antes de
+     * llegar al límite de iteraciones
+     */
+    ResultadoPageRank(double[] rangos, int iteraciones, double error, boolean convergio) {
+        this.rangos = rangos;
+        this.iteraciones = iteraciones;
+        this.error = error;
+        this.convergio = convergio;
+    }
+
+    /**
+     * Devuelve el rango de un vértice.
+     *
+     * @param v identificador del vértice
+     * @return su rango, entre 0 y 1
+     */
+    public double rango(int v) {
+        return rangos[v];
+    }
+
+    /**
+     * Indica si las iteraciones se detuvieron por alcanzar la tolerancia.
+     *
+     * @return falso si se detuvieron por el límite de iteraciones
+     */
+    public boolean convergio() {
+        return convergio;
+    }
+
+    //Getters
+    public double[] getRangos() {
+        return rangos.clone();
+    }
+
+    public int getIteraciones() {
+        return iteraciones;
+    }
+
+    public double getError() {
+        return error;
+    }
+    //End Getters
+
+}
@@ -0,0 +1,102 @@
+package controlador;
+
+/**
+ * Resultado de un conteo de {@link Triangulos}: los triángulos de cada
+ * vértice y los coeficientes de agrupamiento que se obtienen de ellos.
+ *
+ * @author Michael González
+ */
+public final class ResultadoTriangulos {
+
+    private final long[] triangulos;
+    private final int[] grados;
+    private final long total;
+    /**
+     * Cantidad de caminos de dos aristas, es decir, de pares de vecinos de un
+     * mismo vértice.
+     */
+    private final long tripletas;
+
+    /**
+     * Constructor que recibe los valores calculados por el conteo.
+     *
+     * @param triangulos cantidad de triángulos de cada vértice
+     * @param grados cantidad de vecinos distintos de cada vértice, sin
+     * contarse a sí mismo
+     */
+    ResultadoTriangulos(long[] triangulos, int[] grados) {
+        this.triangulos = triangulos;
+        this.grados = grados;
+        long suma = 0;
+        long pares = 0;
+        for (int v = 0; v < triangulos.length; v++) {
+            suma += triangulos[v];
+            pares += (long) grados[v] * (grados[v] - 1) / 2;
+        }
+        this.total = suma / 3;
+        this.tripletas = pares;
+    }
+
+    /**
+     * Devuelve la cantidad de triángulos de los que forma parte un vértice.
+     *
+     * @param v identificador del vértice
+     * @return sus triángulos
+     */
+    public long triangulos(int v) {
+        return triangulos[v];
+    }
+
+    /**
+     * Calcula el coeficiente de agrupamiento local de un vértice: la
+     * fracción de pares de vecinos que están unidos entre sí.
+     *
+     * @param v identificador del vértice
+     * @return el coeficiente, o 0 si tiene menos de dos vecinos
+     */
+    public double coeficienteLocal(int v) {
+        long grado = grados[v];
+        if (grado < 2) {
+            return 0;
+        }
+        return 2.0 * triangulos[v] / (grado * (grado - 1));
+    }
+
+    /**
+     * Calcula el promedio de los coeficientes locales de todos los vértices,
+     * incluidos los que tienen menos de dos vecinos.
+     *
+     * @return el coeficiente promedio, o 0 si el grafo está vacío
+     */
+    public double coeficientePromedio() {
+        if (triangulos.length == 0) {
+            return 0;
+        }
+        double suma = 0;
+        for (int v = 0; v < triangulos.length; v++) {
+            suma += coeficienteLocal(v);
+        }
+        return suma / triangulos.length;
+    }
+
+    /**
+     * Calcula el coeficiente de agrupamiento global o transitividad: la
+     * fracción de caminos de dos aristas que se cierran en un triángulo.
+     *
+     * @return el coeficiente global, o 0 si no hay caminos de dos aristas
+     */
+    public double coeficienteGlobal() {
+        return tripletas == 0 ? 0 : 3.0 * total / tripletas;
+    }
+
+    //Getters
+    public long[] getTriangulos() {
+        return triangulos.clone();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+    //End Getters
+
+}
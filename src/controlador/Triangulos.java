@@ -0,0 +1,286 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conteo en paralelo de los triángulos de una instantánea {@link GrafoCSR} y
+ * de sus coeficientes de agrupamiento. Se ignoran el sentido de las aristas,
+ * los lazos y las aristas repetidas: un triángulo son tres vértices unidos
+ * dos a dos.
+ *
+ * Los vértices se ordenan por grado y cada arista se orienta del extremo de
+ * menor grado al de mayor grado. Así cada triángulo se encuentra una sola
+ * vez, desde su vértice de menor grado, y ningún vértice tiene más de
+ * O(raíz de E) vecinos mayores, por lo que los vértices de grado muy alto de
+ * los grafos con distribución de ley de potencia no dominan el tiempo. Las
+ * filas de vecinos mayores se ordenan, y los triángulos de cada arista
+ * orientada (u, v) son la intersección de las filas de u y de v: por mezcla
+ * si tienen tamaños parecidos, o con búsqueda exponencial (galloping) sobre
+ * la más larga si una es mucho más corta que la otra.
+ *
+ * @author Michael González
+ */
+public final class Triangulos {
+
+    /**
+     * Proporción entre los tamaños de dos filas a partir de la cual se
+     * intersecan con búsqueda exponencial en lugar de por mezcla.
+     */
+    private static final int PROPORCION_GALOPE = 32;
+    /**
+     * Cantidad mínima de vértices que se le asigna a cada tarea.
+     */
+    private static final int TROZO_MINIMO = 1024;
+
+    private final GrafoCSR grafo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que usa el pool común de la máquina virtual.
+     *
+     * @param grafo instantánea del grafo
+     */
+    public Triangulos(GrafoCSR grafo) {
+        this(grafo, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor que usa el pool indicado.
+     *
+     * @param grafo instantánea del grafo
+     * @param pool hilos entre los que se reparten los vértices
+     */
+    public Triangulos(GrafoCSR grafo, ForkJoinPool pool) {
+        this.grafo = grafo;
+        this.pool = pool;
+    }
+
+    /**
+     * Cuenta los triángulos de cada vértice.
+     *
+     * @return los triángulos y el grado de cada vértice, con los que se
+     * calculan los coeficientes de agrupamiento
+     */
+    public ResultadoTriangulos contar() {
+        int n = grafo.cantidadVertices();
+        //Vecinos de cada vértice en ambos sentidos, ordenados y sin repetir
+        int[][] filas = vecinos();
+        int[] desplazamientos = filas[0];
+        int[] vecinos = filas[1];
+        int[] grados = new int[n];
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int v = desde; v < hasta; v++) {
+                Arrays.sort(vecinos, desplazamientos[v], desplazamientos[v + 1]);
+                int grado = 0;
+                int anterior = -1;
+                for (int i = desplazamientos[v]; i < desplazamientos[v + 1]; i++) {
+                    if (vecinos[i] != v && vecinos[i] != anterior) {
+                        grado++;
+                    }
+                    anterior = vecinos[i];
+                }
+                grados[v] = grado;
+            }
+        });
+        //Posición de cada vértice en el orden por grado; a igual grado, por identificador
+        int[] posiciones = ordenarPorGrado(grados);
+        int[] verticesEnPosicion = new int[n];
+        for (int v = 0; v < n; v++) {
+            verticesEnPosicion[posiciones[v]] = v;
+        }
+        //Filas de vecinos mayores, indexadas y expresadas por posición
+        int[] desplazamientosMayores = new int[n + 1];
+        for (int p = 0; p < n; p++) {
+            int v = verticesEnPosicion[p];
+            int mayores = 0;
+            int anterior = -1;
+            for (int i = desplazamientos[v]; i < desplazamientos[v + 1]; i++) {
+                int w = vecinos[i];
+                if (w != anterior && posiciones[w] > p) {
+                    mayores++;
+                }
+                anterior = w;
+            }
+            desplazamientosMayores[p + 1] = desplazamientosMayores[p] + mayores;
+        }
+        int[] mayores = new int[desplazamientosMayores[n]];
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int p = desde; p < hasta; p++) {
+                int v = verticesEnPosicion[p];
+                int i = desplazamientosMayores[p];
+                int anterior = -1;
+                for (int j = desplazamientos[v]; j < desplazamientos[v + 1]; j++) {
+                    int w = vecinos[j];
+                    if (w != anterior && posiciones[w] > p) {
+                        mayores[i++] = posiciones[w];
+                    }
+                    anterior = w;
+                }
+                Arrays.sort(mayores, desplazamientosMayores[p], desplazamientosMayores[p + 1]);
+            }
+        });
+        AtomicLongArray cuentas = new AtomicLongArray(n);
+        RangoParalelo.paraCada(pool, n, TROZO_MINIMO, (desde, hasta) -> {
+            for (int u = desde; u < hasta; u++) {
+                long deU = 0;
+                for (int i = desplazamientosMayores[u]; i < desplazamientosMayores[u + 1]; i++) {
+                    int v = mayores[i];
+                    long deArista = intersecar(mayores, i + 1, desplazamientosMayores[u + 1],
+                            desplazamientosMayores[v], desplazamientosMayores[v + 1], cuentas);
+                    if (deArista > 0) {
+                        cuentas.addAndGet(v, deArista);
+                        deU += deArista;
+                    }
+                }
+                if (deU > 0) {
+                    cuentas.addAndGet(u, deU);
+                }
+            }
+        });
+        long[] triangulos = new long[n];
+        for (int p = 0; p < n; p++) {
+            triangulos[verticesEnPosicion[p]] = cuentas.get(p);
+        }
+        return new ResultadoTriangulos(triangulos, grados);
+    }
+
+    /**
+     * Arma las filas de vecinos de cada vértice sin tener en cuenta el
+     * sentido de las aristas. Son una copia, porque después se ordenan.
+     *
+     * @return el inicio de la fila de cada vértice y los vecinos de las filas
+     */
+    private int[][] vecinos() {
+        int n = grafo.cantidadVertices();
+        if (!grafo.esDirigido()) {
+            return new int[][]{grafo.desplazamientos, grafo.destinos.clone()};
+        }
+        int[] desplazamientos = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            desplazamientos[v + 1] = desplazamientos[v] + grafo.grado(v) + grafo.gradoEntrada(v);
+        }
+        int[] vecinos = new int[desplazamientos[n]];
+        for (int v = 0; v < n; v++) {
+            int salida = grafo.grado(v);
+            System.arraycopy(grafo.destinos, grafo.desplazamientos[v], vecinos, desplazamientos[v], salida);
+            System.arraycopy(grafo.origenes, grafo.desplazamientosEntrada[v], vecinos, desplazamientos[v] + salida,
+                    grafo.gradoEntrada(v));
+        }
+        return new int[][]{desplazamientos, vecinos};
+    }
+
+    /**
+     * Ordena los vértices por grado con un ordenamiento por conteo, que
+     * mantiene el orden por identificador entre los de igual grado.
+     *
+     * @param grados grado de cada vértice
+     * @return la posición de cada vértice en el orden
+     */
+    private static int[] ordenarPorGrado(int[] grados) {
+        int n = grados.length;
+        int maximo = 0;
+        for (int grado : grados) {
+            maximo = Math.max(maximo, grado);
+        }
+        int[] inicios = new int[maximo + 2];
+        for (int grado : grados) {
+            inicios[grado + 1]++;
+        }
+        for (int g = 0; g <= maximo; g++) {
+            inicios[g + 1] += inicios[g];
+        }
+        int[] posiciones = new int[n];
+        for (int v = 0; v < n; v++) {
+            posiciones[v] = inicios[grados[v]]++;
+        }
+        return posiciones;
+    }
+
+    /**
+     * Interseca dos tramos ordenados del mismo arreglo y suma un triángulo a
+     * cada elemento común. Si un tramo es mucho más corto que el otro, cada
+     * elemento del corto se busca en el largo con búsqueda exponencial desde
+     * donde terminó la anterior.
+     *
+     * @param filas arreglo con los dos tramos
+     * @param desdeA inicio del primer tramo
+     * @param hastaA fin del primer tramo
+     * @param desdeB inicio del segundo tramo
+     * @param hastaB fin del segundo tramo
+     * @param cuentas triángulos de cada vértice
+     * @return la cantidad de elementos comunes
+     */
+    private static long intersecar(int[] filas, int desdeA, int hastaA, int desdeB, int hastaB, AtomicLongArray cuentas) {
+        int largoA = hastaA - desdeA;
+        int largoB = hastaB - desdeB;
+        if (largoA == 0 || largoB == 0) {
+            return 0;
+        }
+        if (largoA > largoB) {
+            return intersecar(filas, desdeB, hastaB, desdeA, hastaA, cuentas);
+        }
+        long comunes = 0;
+        int i = desdeA;
+        int j = desdeB;
+        if ((long) largoA * PROPORCION_GALOPE < largoB) {
+            for (; i < hastaA && j < hastaB; i++) {
+                int buscado = filas[i];
+                j = galopar(filas, j, hastaB, buscado);
+                if (j < hastaB && filas[j] == buscado) {
+                    cuentas.incrementAndGet(buscado);
+                    comunes++;
+                    j++;
+                }
+            }
+            return comunes;
+        }
+        while (i < hastaA && j < hastaB) {
+            if (filas[i] < filas[j]) {
+                i++;
+            } else if (filas[i] > filas[j]) {
+                j++;
+            } else {
+                cuentas.incrementAndGet(filas[i]);
+                comunes++;
+                i++;
+                j++;
+            }
+        }
+        return comunes;
+    }
+
+    /**
+     * Busca la primera posición de un tramo ordenado cuyo elemento no es
+     * menor que el buscado. Avanza con saltos que se duplican hasta pasarse
+     * y luego hace una búsqueda binaria en el último salto.
+     *
+     * @param filas arreglo con el tramo
+     * @param desde inicio del tramo
+     * @param hasta fin del tramo
+     * @param buscado elemento buscado
+     * @return la posición encontrada, o {@code hasta} si todos son menores
+     */
+    private static int galopar(int[] filas, int desde, int hasta, int buscado) {
+        int salto = 1;
+        int bajo = desde;
+        int alto = desde;
+        while (alto < hasta && filas[alto] < buscado) {
+            bajo = alto + 1;
+            alto = desde + salto;
+            salto <<= 1;
+        }
+        alto = Math.min(alto, hasta);
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (filas[medio] < buscado) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+}
@@ -0,0 +1,26 @@
+package controlador;
+
+/**
+ * Recibe los vértices a medida que un recorrido los va descubriendo. Permite
+ * procesar el resultado sin esperar a que el recorrido termine y detenerlo en
+ * cuanto ya no se necesiten más vértices.
+ *
+ * @author Michael González
+ * @see Recorrido
+ */
+public interface VisitanteRecorrido {
+
+    /**
+     * Se llama una vez por cada vértice descubierto, en el orden del
+     * recorrido.
+     *
+     * @param vertice identificador del vértice descubierto
+     * @param profundidad distancia, en aristas del árbol de recorrido, desde
+     * el vértice inicial
+     * @param padre identificador del vértice desde el que se descubrió. -1
+     * para el vértice inicial.
+     * @return verdadero para continuar el recorrido; falso para detenerlo
+     */
+    boolean visitar(int vertice, int profundidad, int padre);
+
+}
@@ -1,5 +1,7 @@
 package modelo;
 
+import java.util.Objects;
+
 /**
  * Clase modelo {@code Arista} que crea cada una de las aristas del grafo. Una
  * arista es un enlace entre dos nodos o vértices. Tiene un vértice de origen y
@@ -67,6 +69,37 @@ public class Arista {
         return "Arista entre vértices {" + this.origen + ", " + this.destino + "}, con peso " + this.peso + "\n";
     }
 
+    /**
+     * Dos aristas son iguales cuando unen el mismo vértice de origen con el
+     * mismo vértice de destino, sin importar su peso. Así, una arista nueva
+     * sirve para buscar otra lógicamente igual en una lista o en un índice.
+     *
+     * @param obj objeto con el que se compara la arista
+     * @return verdadero si ambas aristas tienen el mismo origen y destino
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Arista)) {
+            return false;
+        }
+        Arista otra = (Arista) obj;
+        return Objects.equals(this.origen, otra.origen) && Objects.equals(this.destino, otra.destino);
+    }
+
+    /**
+     * Código hash consistente con {@link #equals(java.lang.Object)}: depende
+     * solo del origen y del destino.
+     *
+     * @return código hash de la arista
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(this.origen) + Objects.hashCode(this.destino);
+    }
+
     //Getters & Setters
     public Vertice getAdyacente(Vertice ingresado) {
         return (ingresado.equals(this.origen)) ? this.destino : this.origen;
@@ -84,6 +117,14 @@ public class Arista {
         return this.peso;
     }
 
+    /**
+     * Cambia el peso sin avisar al grafo. Para una arista de un grafo se debe
+     * usar {@code ListaAdyacencia.cambiarPeso}, o llamar después a
+     * {@code ListaAdyacencia.marcarModificado}, para que sus consultas no
+     * usen el peso anterior.
+     *
+     * @param peso nuevo peso de la arista
+     */
     public void setPeso(int peso) {
         this.peso = peso;
     }
@@ -1,6 +1,9 @@
 package modelo;
 
 import controlador.Lista;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
 
 /**
  * Clase modelo {@code Vertice} que define los campos que requiere un vértice
@@ -12,7 +15,27 @@ import controlador.Lista;
 public class Vertice {
 
     private Lista<Arista> aristasEnlazadas;
-    private Lista<Vertice> vecinos;
+    /**
+     * Aristas enlazadas cuyo origen es este vértice.
+     */
+    private final Lista<Arista> salientes;
+    /**
+     * Aristas enlazadas cuyo destino es este vértice.
+     */
+    private final Lista<Arista> entrantes;
+    /**
+     * Vértices adyacentes, con la cantidad de aristas enlazadas que llevan a
+     * cada uno. Se actualiza al asignar o eliminar una arista, por lo que su
+     * tamaño es siempre proporcional al grado del vértice. No tiene en cuenta
+     * el sentido de las aristas: incluye tanto los sucesores como los
+     * predecesores.
+     */
+    private final HashMap<Vertice, Integer> vecinos;
+    /**
+     * Vista de solo lectura de los vecinos. Se crea una sola vez y refleja los
+     * cambios de {@code vecinos}.
+     */
+    private final Set<Vertice> vistaVecinos;
     private String dato;
     private boolean visitado;
 
@@ -26,7 +49,10 @@ public class Vertice {
     public Vertice(String dato) {
         this.dato = dato;
         this.aristasEnlazadas = new Lista<>();
-        this.vecinos = new Lista<>();
+        this.salientes = new Lista<>();
+        this.entrantes = new Lista<>();
+        this.vecinos = new HashMap<>();
+        this.vistaVecinos = Collections.unmodifiableSet(vecinos.keySet());
     }
 
     /**
@@ -50,16 +76,58 @@ public class Vertice {
     }
 
     /**
-     * Comprueba si la arista ya está conectada a ese vértice.
+     * Devuelve la cantidad de aristas que salen del vértice, es decir, las
+     * enlazadas que tienen a este vértice como origen. En un grafo no dirigido
+     * depende del sentido en el que se insertó cada arista; el grado es
+     * {@link #tamanioEnlaces()}.
+     *
+     * @return el grado de salida
+     */
+    public int gradoSalida() {
+        return salientes.size();
+    }
+
+    /**
+     * Devuelve la cantidad de aristas que llegan al vértice, es decir, las
+     * enlazadas que tienen a este vértice como destino.
+     *
+     * @return el grado de entrada
+     */
+    public int gradoEntrada() {
+        return entrantes.size();
+    }
+
+    /**
+     * Comprueba si la arista ya está conectada a ese vértice. Si el otro
+     * extremo de la arista no es vecino, la respuesta se obtiene sin recorrer
+     * la lista de aristas.
      *
      * @param arista arista que se va a comprobar
      * @return verdadero o falso si la arista se encuentra en la lista de
      * aristas
      */
     public boolean estaEnlazado(Arista arista) {
+        if (!vecinos.containsKey(arista.getAdyacente(this))) {
+            return false;
+        }
         return aristasEnlazadas.contains(arista);
     }
 
+    /**
+     * Comprueba si el vértice especificado es adyacente a este. No tiene en
+     * cuenta el sentido de las aristas: en un grafo dirigido también es
+     * verdadero si el otro vértice solo es predecesor de este. Para saber si
+     * hay un arco de este vértice al otro se usa
+     * {@code ListaAdyacencia.existeArista(origen, destino)}.
+     *
+     * @param vertice vértice que se va a comprobar
+     * @return verdadero o falso si alguna arista enlazada, en cualquier
+     * sentido, une este vértice con ese
+     */
+    public boolean esVecino(Vertice vertice) {
+        return vecinos.containsKey(vertice);
+    }
+
     /**
      * Agrega una arista al vértice en cuestión.
      *
@@ -68,17 +136,38 @@ public class Vertice {
     public void asignarArista(Arista arista) {
         if (!estaEnlazado(arista)) {
             aristasEnlazadas.add(arista);
+            vecinos.merge(arista.getAdyacente(this), 1, Integer::sum);
+            if (this.equals(arista.getOrigen())) {
+                salientes.add(arista);
+            }
+            if (this.equals(arista.getDestino())) {
+                entrantes.add(arista);
+            }
         }
     }
 
     /**
-     * Se elimina una arista de la lista de aristas enlazadas.
+     * Se elimina una arista de la lista de aristas enlazadas. Si era la única
+     * arista hacia el otro extremo, este deja de ser vecino.
      *
      * @param arista arista que se desea eliminar
      */
     public void eliminarEnlace(Arista arista) {
         if (estaEnlazado(arista)) {
             aristasEnlazadas.remove(arista);
+            if (this.equals(arista.getOrigen())) {
+                salientes.remove(arista);
+            }
+            if (this.equals(arista.getDestino())) {
+                entrantes.remove(arista);
+            }
+            Vertice adyacente = arista.getAdyacente(this);
+            int restantes = vecinos.get(adyacente) - 1;
+            if (restantes == 0) {
+                vecinos.remove(adyacente);
+            } else {
+                vecinos.put(adyacente, restantes);
+            }
         }
     }
 
@@ -93,6 +182,26 @@ public class Vertice {
         return aristasEnlazadas.get(index);
     }
 
+    /**
+     * Retorna la arista saliente deseada.
+     *
+     * @param index indice especificado, menor que {@link #gradoSalida()}
+     * @return La arista saliente en el índice especificado
+     */
+    public Arista getSaliente(int index) {
+        return salientes.get(index);
+    }
+
+    /**
+     * Retorna la arista entrante deseada.
+     *
+     * @param index indice especificado, menor que {@link #gradoEntrada()}
+     * @return La arista entrante en el índice especificado
+     */
+    public Arista getEntrante(int index) {
+        return entrantes.get(index);
+    }
+
     public String getDato() {
         return dato;
     }
@@ -120,19 +229,59 @@ public class Vertice {
         return new Lista<>(this.aristasEnlazadas);
     }
 
-    public void setList(Lista<Arista> aristasEnlazadas) {
-        this.aristasEnlazadas = aristasEnlazadas;
+    /**
+     * Devuelve una copia de la lista de aristas que salen del vértice.
+     *
+     * @return Copia de la lista de aristas salientes
+     */
+    public Lista<Arista> getSalientes() {
+        return new Lista<>(this.salientes);
     }
 
-    public Lista<Vertice> getVecinos() {
+    /**
+     * Devuelve una copia de la lista de aristas que llegan al vértice.
+     *
+     * @return Copia de la lista de aristas entrantes
+     */
+    public Lista<Arista> getEntrantes() {
+        return new Lista<>(this.entrantes);
+    }
+
+    /**
+     * Reemplaza la lista de aristas enlazadas y recalcula los vecinos y las
+     * aristas salientes y entrantes a partir de ella.
+     *
+     * @param aristasEnlazadas nueva lista de aristas del vértice
+     */
+    public void setList(Lista<Arista> aristasEnlazadas) {
+        this.aristasEnlazadas = aristasEnlazadas;
+        vecinos.clear();
+        salientes.clear();
+        entrantes.clear();
         for (Arista a : aristasEnlazadas) {
-            vecinos.add(a.getDestino());
+            vecinos.merge(a.getAdyacente(this), 1, Integer::sum);
+            if (this.equals(a.getOrigen())) {
+                salientes.add(a);
+            }
+            if (this.equals(a.getDestino())) {
+                entrantes.add(a);
+            }
         }
-        return new Lista<>(this.vecinos);
     }
 
-    public void setVecinos(Lista<Vertice> vecinos) {
-        this.vecinos = vecinos;
+    /**
+     * Devuelve los vértices adyacentes. Es una vista de solo lectura que se
+     * mantiene al día con las aristas del vértice, así que no se copia en cada
+     * llamada y permite comprobar si un vértice es vecino en tiempo constante.
+     * No tiene en cuenta el sentido de las aristas: en un grafo dirigido
+     * contiene los sucesores y los predecesores. Los sucesores son los
+     * destinos de {@link #getSalientes()} y los predecesores los orígenes de
+     * {@link #getEntrantes()}.
+     *
+     * @return Conjunto no modificable con los vecinos del vértice
+     */
+    public Set<Vertice> getVecinos() {
+        return vistaVecinos;
     }
     //End Getters
 }
@@ -1,22 +1,33 @@
 package vista;
 
 import controlador.Acciones;
+import controlador.ImportadorAristas;
 import controlador.Lista;
+import controlador.ResultadoImportacion;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.TitledBorder;
 
 /**
@@ -66,7 +77,7 @@ public class FrameGrafo extends JFrame implements ActionListener {
      */
     private void componentes(String titulo) {
         //Arreglo de opciones
-        Integer[] items = {0, 1, 2, 3, 4, 5, 6, 7};
+        Integer[] items = {0, 1, 2, 3, 4, 5, 6, 7, 8};
 
         //Propiedades del JFrame
         setTitle(titulo);
@@ -130,10 +141,11 @@ public class FrameGrafo extends JFrame implements ActionListener {
                 + "4. Mostrar grafo en BFS (Amplitud).<p>"
                 + "5. Eliminar un vértices y sus adyacencias.<p>"
                 + "6. Eliminar una arista del grafo.<p>"
-                + "7. Salir.<html>");
+                + "7. Importar aristas desde un archivo.<p>"
+                + "8. Salir.<html>");
         lblOpciones.setFont(new Font("Times New Roman", 0, 16));
         lblOpciones.setForeground(Color.WHITE);
-        lblOpciones.setBounds(90, 75, 250, 150);
+        lblOpciones.setBounds(90, 70, 270, 170);
 
         //Crear el JComboBox
         opc.setFont(new Font("Times New Roman", 0, 15));
@@ -267,6 +279,10 @@ public class FrameGrafo extends JFrame implements ActionListener {
                     grafo.eliminarArista(verticeOrigen, verticeDestino);
                     break;
                 case 7:
+                    //Importar aristas desde un archivo.
+                    importarAristas();
+                    break;
+                case 8:
                     //Salir.
                     int salir = JOptionPane.showConfirmDialog(null, "Si sale, se eliminarán todos los datos ingresados. \n"
                             + "                            ¿Continuar?", TITULO, JOptionPane.YES_NO_OPTION, 2);
@@ -287,6 +303,74 @@ public class FrameGrafo extends JFrame implements ActionListener {
         }
     }
 
+    /**
+     * Pide el archivo y su formato e importa las aristas en segundo plano, para
+     * que la ventana no se congele con un archivo grande. Mientras dura la
+     * importación se muestra su avance con la opción de cancelarla, y los
+     * botones quedan deshabilitados para que el grafo no se modifique a la
+     * vez desde dos hilos.
+     */
+    private void importarAristas() {
+        JFileChooser selector = new JFileChooser();
+        if (selector.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File archivo = selector.getSelectedFile();
+        String[] formatos = {"Lista de aristas", "Lista de adyacencia"};
+        int formato = JOptionPane.showOptionDialog(null, "¿Qué formato tiene el archivo?", TITULO,
+                JOptionPane.DEFAULT_OPTION, 3, null, formatos, formatos[0]);
+        if (formato == JOptionPane.CLOSED_OPTION) {
+            return;
+        }
+        int encabezado = JOptionPane.showConfirmDialog(null, "¿La primera línea es un encabezado?", TITULO,
+                JOptionPane.YES_NO_OPTION, 3);
+        if (encabezado == JOptionPane.CLOSED_OPTION) {
+            return;
+        }
+
+        //El avance y la cancelación se comparten entre la importación y el hilo de eventos
+        AtomicInteger avance = new AtomicInteger();
+        AtomicBoolean cancelada = new AtomicBoolean();
+        ProgressMonitor monitor = new ProgressMonitor(this, "Importando " + archivo.getName(), null, 0, 100);
+        Timer reloj = new Timer(200, e -> {
+            monitor.setProgress(avance.get());
+            if (monitor.isCanceled()) {
+                cancelada.set(true);
+            }
+        });
+        SwingWorker<ResultadoImportacion, Void> tarea = new SwingWorker<ResultadoImportacion, Void>() {
+            @Override
+            protected ResultadoImportacion doInBackground() throws IOException {
+                return grafo.importarAristas(archivo,
+                        formato == 0 ? ImportadorAristas.Formato.ARISTAS : ImportadorAristas.Formato.ADYACENCIA,
+                        encabezado == JOptionPane.YES_OPTION,
+                        (leidos, totales, leidas) -> {
+                            avance.set(totales == 0 ? 100 : (int) (leidos * 100 / totales));
+                            return !cancelada.get();
+                        });
+            }
+
+            @Override
+            protected void done() {
+                reloj.stop();
+                monitor.close();
+                btnAceptar.setEnabled(true);
+                btnActualizar.setEnabled(true);
+                try {
+                    JOptionPane.showMessageDialog(null, get().toString(), TITULO, 1);
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(null, "No se pudo leer el archivo: \n" + e.getCause().getMessage(), "ERROR", 0);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        btnAceptar.setEnabled(false);
+        btnActualizar.setEnabled(false);
+        reloj.start();
+        tarea.execute();
+    }
+
     /**
      * Método de la clase abstracta {@code ActionListener} que lee una acción en
      * el componente seleccionado.